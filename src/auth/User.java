@@ -1,12 +1,17 @@
 package auth;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.*;
 
 import java.io.Serializable;
 
+import core.BookingCodec;
 import core.Passenger;
 import ui.ConsoleColors;
 
@@ -16,59 +21,146 @@ public class User implements Serializable {
     private String password;
     private Passenger passenger;
     private boolean isAdmin;
-    private static List<User> users = new ArrayList<>();
+    private static final Map<String, User> users = new ConcurrentHashMap<>();
     private static final String USERS_FILE = "data/users.dat";
+    private static final String REGISTRATION_LOG_FILE = "data/users.log";
+    private static final int USERS_MAGIC = 0x55535253;
+    private static final Object logLock = new Object();
     
     static {
         loadUsers();
         
         if (users.isEmpty()) {
             User admin = new User("admin", "admin123", "Admin", true);
-            users.add(admin);
+            users.put(admin.username, admin);
             
-            users.add(new User("john", "pass123", "John Smith", false));
-            users.add(new User("mary", "pass456", "Mary Johnson", false));
+            users.put("john", new User("john", "pass123", "John Smith", false));
+            users.put("mary", new User("mary", "pass456", "Mary Johnson", false));
             
             saveUsers();
         }
     }
     
     public User(String username, String password, String passengerName, boolean isAdmin) {
+        this(username, password, new Passenger(passengerName), isAdmin);
+    }
+    
+    private User(String username, String password, Passenger passenger, boolean isAdmin) {
         this.username = username;
         this.password = password;
-        this.passenger = new Passenger(passengerName);
+        this.passenger = passenger;
         this.isAdmin = isAdmin;
     }
     
     public static User authenticate(String username, String password) {
-        for (User user : users) {
-            if (user.username.equals(username) && user.password.equals(password)) {
-                return user;
-            }
+        if (username == null || password == null) {
+            return null;
+        }
+        User user = users.get(username);
+        if (user != null && user.password.equals(password)) {
+            return user;
         }
         return null;
     }
     
     public static void register(String username, String password, String passengerName) {
-        for (User user : users) {
-            if (user.username.equals(username)) {
-                throw new IllegalArgumentException("Username already exists");
+        User newUser = new User(username, password, passengerName, false);
+        if (users.putIfAbsent(username, newUser) != null) {
+            throw new IllegalArgumentException("Username already exists");
+        }
+        appendRecord(newUser);
+    }
+    
+    public void saveProfile() {
+        appendRecord(this);
+    }
+    
+    private static void appendRecord(User user) {
+        try {
+            byte[] record = encode(user);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            
+            ByteBuffer buffer = ByteBuffer.allocate(8 + record.length);
+            buffer.putInt(record.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(record);
+            buffer.flip();
+            
+            synchronized (logLock) {
+                Files.createDirectories(Paths.get("data"));
+                try (FileChannel channel = FileChannel.open(Paths.get(REGISTRATION_LOG_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                }
             }
+            System.out.println(ConsoleColors.GREEN + "Users saved successfully." + ConsoleColors.RESET);
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.RED + "Error saving users: " + e.getMessage() + ConsoleColors.RESET);
         }
-        
-        User newUser = new User(username, password, passengerName, false);
-        users.add(newUser);
-        saveUsers();
+    }
+    
+    private static int replayRegistrations(Path logPath) throws IOException {
+        int replayed = 0;
+        long remaining = Files.size(logPath);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logPath)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int checksum = in.readInt();
+                remaining -= 8;
+                if (length < 0 || length > remaining) {
+                    System.err.println(ConsoleColors.YELLOW + "Ignoring incomplete registration at end of " + REGISTRATION_LOG_FILE + ConsoleColors.RESET);
+                    break;
+                }
+                remaining -= length;
+                byte[] record = new byte[length];
+                in.readFully(record);
+                CRC32 crc = new CRC32();
+                crc.update(record);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                User user = decode(new DataInputStream(new ByteArrayInputStream(record)));
+                users.put(user.username, user);
+                replayed++;
+            }
+        } catch (EOFException e) {
+            System.err.println(ConsoleColors.YELLOW + "Ignoring incomplete registration at end of " + REGISTRATION_LOG_FILE + ConsoleColors.RESET);
+        }
+        return replayed;
     }
     
     private static void saveUsers() {
         try {
-            Files.createDirectories(Paths.get("data"));
+            Path path = Paths.get(USERS_FILE);
+            Files.createDirectories(path.getParent());
             
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(USERS_FILE))) {
-                oos.writeObject(users);
-                System.out.println(ConsoleColors.GREEN + "Users saved successfully." + ConsoleColors.RESET);
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                out.writeInt(USERS_MAGIC);
+                out.writeInt(users.size());
+                for (User user : users.values()) {
+                    writeUser(out, user);
+                }
+                out.flush();
+                fileOut.getFD().sync();
             }
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.deleteIfExists(Paths.get(REGISTRATION_LOG_FILE));
+            System.out.println(ConsoleColors.GREEN + "Users saved successfully." + ConsoleColors.RESET);
         } catch (IOException e) {
             System.err.println(ConsoleColors.RED + "Error saving users: " + e.getMessage() + ConsoleColors.RESET);
         }
@@ -79,16 +171,64 @@ public class User implements Serializable {
         File file = new File(USERS_FILE);
         if (!file.exists()) {
             System.out.println("No users file found. Starting with default users.");
-            return;
+        } else {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                in.mark(4);
+                int magic = in.readInt();
+                if (magic == USERS_MAGIC) {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        User user = decode(in);
+                        users.put(user.username, user);
+                    }
+                } else {
+                    in.reset();
+                    try (ObjectInputStream ois = new ObjectInputStream(in)) {
+                        for (User user : (List<User>) ois.readObject()) {
+                            users.putIfAbsent(user.username, user);
+                        }
+                    }
+                }
+                System.out.println(ConsoleColors.GREEN + "Loaded " + users.size() + " users." + ConsoleColors.RESET);
+            } catch (IOException | ClassNotFoundException e) {
+                System.err.println(ConsoleColors.RED + "Error loading users: " + e.getMessage() + ConsoleColors.RESET);
+                users.clear();
+            }
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(USERS_FILE))) {
-            users = (List<User>) ois.readObject();
-            System.out.println(ConsoleColors.GREEN + "Loaded " + users.size() + " users." + ConsoleColors.RESET);
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println(ConsoleColors.RED + "Error loading users: " + e.getMessage() + ConsoleColors.RESET);
-            users = new ArrayList<>();
+        Path logPath = Paths.get(REGISTRATION_LOG_FILE);
+        if (!Files.exists(logPath)) {
+            return;
+        }
+        try {
+            int replayed = replayRegistrations(logPath);
+            System.out.println(ConsoleColors.GREEN + "Replayed " + replayed + " user changes." + ConsoleColors.RESET);
+            saveUsers();
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.RED + "Error replaying registrations: " + e.getMessage() + ConsoleColors.RESET);
+        }
+    }
+    
+    private static byte[] encode(User user) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeUser(out, user);
         }
+        return bytes.toByteArray();
+    }
+    
+    private static void writeUser(DataOutputStream out, User user) throws IOException {
+        out.writeUTF(user.username);
+        out.writeUTF(user.password);
+        out.writeBoolean(user.isAdmin);
+        BookingCodec.writePassenger(out, user.passenger);
+    }
+    
+    private static User decode(DataInputStream in) throws IOException {
+        String username = in.readUTF();
+        String password = in.readUTF();
+        boolean isAdmin = in.readBoolean();
+        return new User(username, password, BookingCodec.readPassenger(in), isAdmin);
     }
     
     public String getUsername() {
@@ -1,7 +1,6 @@
 package core;
 
 import java.io.Serializable;
-import data.FlightDatabase;
 
 public class Booking implements Serializable {
     private static final long serialVersionUID = 1L;
@@ -11,8 +10,10 @@ public class Booking implements Serializable {
     private String description;
     private double cost;
     private String flightNumber;
+    private String bookingId;
     
     public Booking(BookingComponent bookingComponent) {
+        this.bookingId = IdGenerator.shared().nextId("BKG-");
         this.bookingComponent = bookingComponent;
         this.description = bookingComponent.getDescription();
         this.cost = bookingComponent.getCost();
@@ -35,11 +36,25 @@ public class Booking implements Serializable {
         return bookingComponent.getDescription();
     }
     
+    Booking(String bookingId, String flightNumber, String description, double cost) {
+        this.bookingId = bookingId;
+        this.flightNumber = flightNumber;
+        this.description = description;
+        this.cost = cost;
+    }
+    
+    public String getFlightNumber() {
+        return flightNumber;
+    }
+    
+    public String getBookingId() {
+        return bookingId;
+    }
+    
     public Flight getFlight() {
         
         if (bookingComponent == null) {
-            FlightDatabase db = new FlightDatabase();
-            return db.getFlightByNumber(flightNumber);
+            return FlightRegistry.resolve(flightNumber);
         }
         return bookingComponent.getFlight();
     }
@@ -0,0 +1,215 @@
+package core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class BookingCodec {
+    public static final int SCHEMA_VERSION = 2;
+
+    private BookingCodec() {
+    }
+
+    public static byte[] encode(GroupBooking groupBooking) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeGroupBooking(out, groupBooking);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static GroupBooking decodeGroupBooking(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return readGroupBooking(in);
+        }
+    }
+
+    public static void writeGroupBooking(DataOutput out, GroupBooking groupBooking) throws IOException {
+        out.writeByte(SCHEMA_VERSION);
+        Flight flight = groupBooking.getFlight();
+        SeatMap seatMap = flight.getSeatMap();
+        List<Passenger> passengers = groupBooking.getPassengers();
+        List<Booking> bookings = groupBooking.getBookings();
+
+        writeString(out, groupBooking.getGroupId());
+        writeString(out, flight.getFlightNumber());
+        writeVarInt(out, (int) Math.round(groupBooking.getGroupDiscountPercentage() * 100));
+        writeString(out, groupBooking.getContactName());
+        writeString(out, groupBooking.getContactEmail());
+        writeString(out, groupBooking.getContactPhone());
+
+        writeVarInt(out, passengers.size());
+        for (int i = 0; i < passengers.size(); i++) {
+            Passenger passenger = passengers.get(i);
+            writeString(out, passenger.name);
+            String seatCode = groupBooking.getAssignedSeat(passenger);
+            writeVarInt(out, seatCode == null ? 0 : seatMap.getSeatIndex(seatCode) + 1);
+            Booking booking = bookings.get(i);
+            writeString(out, booking.getBookingId());
+            writeString(out, booking.getDescription());
+            out.writeLong(Math.round(booking.getCost() * 100));
+        }
+    }
+
+    public static GroupBooking readGroupBooking(DataInput in) throws IOException {
+        int version = checkVersion(in.readUnsignedByte());
+        String groupId = readString(in);
+        Flight flight = FlightRegistry.resolve(readString(in));
+        if (flight == null) {
+            skipGroupBooking(in, version);
+            return null;
+        }
+        SeatMap seatMap = flight.getSeatMap();
+        double discount = readVarInt(in) / 100.0;
+        String contactName = readString(in);
+        String contactEmail = readString(in);
+        String contactPhone = readString(in);
+
+        int count = readVarInt(in);
+        List<Passenger> passengers = new ArrayList<>(count);
+        List<Booking> bookings = new ArrayList<>(count);
+        Map<Passenger, String> seatAssignments = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            Passenger passenger = new Passenger(readString(in));
+            int seat = readVarInt(in) - 1;
+            String seatCode = null;
+            if (seat >= 0) {
+                seatCode = seatMap.getSeatCode(seat / seatMap.getColumns() + 1, seat % seatMap.getColumns());
+                seatMap.bookSeat(seatCode);
+                seatAssignments.put(passenger, seatCode);
+            }
+            String bookingId = readString(in);
+            Booking booking;
+            if (version >= 2) {
+                String description = readString(in);
+                double cost = in.readLong() / 100.0;
+                booking = new Booking(bookingId, flight.getFlightNumber(), description, cost);
+            } else {
+                booking = new Booking(bookingId, flight.getFlightNumber(), null, 0);
+                booking.setBookingComponent(new ConcreteBooking(flight, passenger.name, seatCode, true));
+            }
+            passengers.add(passenger);
+            bookings.add(booking);
+        }
+        return new GroupBooking(groupId, flight, passengers, bookings, discount,
+                                contactName, contactEmail, contactPhone, seatAssignments);
+    }
+
+    public static String readGroupId(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            checkVersion(in.readUnsignedByte());
+            return readString(in);
+        }
+    }
+
+    private static void skipGroupBooking(DataInput in, int version) throws IOException {
+        readVarInt(in);
+        readString(in);
+        readString(in);
+        readString(in);
+        int count = readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            readString(in);
+            readVarInt(in);
+            readString(in);
+            if (version >= 2) {
+                readString(in);
+                in.readLong();
+            }
+        }
+    }
+
+    public static void writePassenger(DataOutput out, Passenger passenger) throws IOException {
+        out.writeByte(SCHEMA_VERSION);
+        writeString(out, passenger.name);
+        writeVarInt(out, passenger.getLoyaltyPoints());
+        List<Booking> bookings = passenger.getBookings();
+        writeVarInt(out, bookings.size());
+        for (Booking booking : bookings) {
+            writeBookingFields(out, booking);
+        }
+    }
+
+    public static Passenger readPassenger(DataInput in) throws IOException {
+        checkVersion(in.readUnsignedByte());
+        String name = readString(in);
+        int loyaltyPoints = readVarInt(in);
+        int count = readVarInt(in);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(readBookingFields(in));
+        }
+        return new Passenger(name, loyaltyPoints, bookings);
+    }
+
+    public static void writeBooking(DataOutput out, Booking booking) throws IOException {
+        out.writeByte(SCHEMA_VERSION);
+        writeBookingFields(out, booking);
+    }
+
+    public static Booking readBooking(DataInput in) throws IOException {
+        checkVersion(in.readUnsignedByte());
+        return readBookingFields(in);
+    }
+
+    private static void writeBookingFields(DataOutput out, Booking booking) throws IOException {
+        writeString(out, booking.getBookingId());
+        writeString(out, booking.getFlightNumber());
+        writeString(out, booking.getDescription());
+        out.writeLong(Math.round(booking.getCost() * 100));
+    }
+
+    private static Booking readBookingFields(DataInput in) throws IOException {
+        String bookingId = readString(in);
+        String flightNumber = readString(in);
+        String description = readString(in);
+        double cost = in.readLong() / 100.0;
+        return new Booking(bookingId, flightNumber, description, cost);
+    }
+
+    private static int checkVersion(int version) throws IOException {
+        if (version < 1 || version > SCHEMA_VERSION) {
+            throw new IOException("Unsupported booking schema version " + version);
+        }
+        return version;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in booking record");
+    }
+}
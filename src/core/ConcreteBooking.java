@@ -9,12 +9,20 @@ public class ConcreteBooking implements BookingComponent {
     private String seatCode;
 
     public ConcreteBooking(Flight flight, String passengerName, String seatCode) {
+        this(flight, passengerName, seatCode, false);
+    }
+    
+    public ConcreteBooking(Flight flight, String passengerName, SeatHold hold) {
+        this(flight, passengerName, hold.getSeatCode(), true);
+    }
+    
+    ConcreteBooking(Flight flight, String passengerName, String seatCode, boolean seatReserved) {
         this.flight = flight;
         this.passengerName = passengerName;
         this.seatCode = seatCode;
         
         
-        if (seatCode != null && !seatCode.isEmpty()) {
+        if (!seatReserved && seatCode != null && !seatCode.isEmpty()) {
             flight.getSeatMap().bookSeat(seatCode);
         }
     }
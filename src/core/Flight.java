@@ -3,9 +3,12 @@ package core;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import patterns.observer.EventBus;
+import patterns.observer.NotificationCoalescer;
 import patterns.observer.Observable;
 import patterns.observer.Observer;
 
@@ -22,12 +25,19 @@ public class Flight implements Observable, Serializable {
     private double originalPrice;
     private int discountPercentage;
     private String status;
-    private transient List<Observer> observers = new ArrayList<>();
-    private SeatMap seatMap;
+    private transient List<Observer> observers = new CopyOnWriteArrayList<>();
+    private transient List<PriceChangeListener> priceListeners = new ArrayList<>();
+    private volatile SeatMap seatMap;
 
 
     public Flight(String flightNumber, String departure, String arrival, String airline,
                   LocalDate departureDate, LocalTime departureTime, double duration, double price) {
+        this(flightNumber, departure, arrival, airline, departureDate, departureTime, duration, price, null);
+    }
+
+    public Flight(String flightNumber, String departure, String arrival, String airline,
+                  LocalDate departureDate, LocalTime departureTime, double duration, double price,
+                  SeatMap seatMap) {
         this.flightNumber = flightNumber;
         this.departure = departure;
         this.arrival = arrival;
@@ -39,24 +49,48 @@ public class Flight implements Observable, Serializable {
         this.originalPrice = price;
         this.discountPercentage = 0;
         this.status = "On Time";
-        this.seatMap = new SeatMap(flightNumber);
+        this.seatMap = seatMap;
     }
 
     public void setSpecialOffer(int discountPercentage, double newPrice) {
+        double oldPrice = this.price;
         this.discountPercentage = discountPercentage;
         this.price = newPrice;
+        firePriceChanged(oldPrice);
         
         
-        String message = String.format("Special offer for Flight %s: %d%% discount! New price: $%.2f", 
-                                      flightNumber, discountPercentage, newPrice);
-        for (Observer o : observers) {
-            o.update(message);
-        }
+        EventBus.shared().publish(flightNumber, observers,
+            () -> String.format("Special offer for Flight %s: %d%% discount! New price: $%.2f", 
+                                flightNumber, discountPercentage, newPrice));
     }
     
     public void removeSpecialOffer() {
+        double oldPrice = this.price;
         this.price = this.originalPrice;
         this.discountPercentage = 0;
+        firePriceChanged(oldPrice);
+    }
+
+    public void addPriceChangeListener(PriceChangeListener listener) {
+        if (priceListeners == null) {
+            priceListeners = new ArrayList<>();
+        }
+        priceListeners.add(listener);
+    }
+
+    public void removePriceChangeListener(PriceChangeListener listener) {
+        if (priceListeners != null) {
+            priceListeners.remove(listener);
+        }
+    }
+
+    private void firePriceChanged(double oldPrice) {
+        if (priceListeners == null || oldPrice == price) {
+            return;
+        }
+        for (PriceChangeListener listener : priceListeners) {
+            listener.priceChanged(this, oldPrice);
+        }
     }
 
     public void setStatus(String status) {
@@ -76,11 +110,10 @@ public class Flight implements Observable, Serializable {
 
     @Override
     public void notifyObservers() {
-        String message = String.format("Flight %s (%s to %s on %s) status updated to: %s",
-                                       flightNumber, departure, arrival, departureDate, status);
-        for (Observer o : observers) {
-            o.update(message);
-        }
+        String currentStatus = status;
+        NotificationCoalescer.statusUpdates().submit(flightNumber, observers,
+            () -> String.format("Flight %s (%s to %s on %s) status updated to: %s",
+                                flightNumber, departure, arrival, departureDate, currentStatus));
     }
 
     public String getFlightNumber() { return flightNumber; }
@@ -94,8 +127,32 @@ public class Flight implements Observable, Serializable {
     public double getOriginalPrice() { return originalPrice; }
     public int getDiscountPercentage() { return discountPercentage; }
     public String getStatus() { return status; }
-    public SeatMap getSeatMap() { return seatMap; }
+    public boolean hasSeatMap() { return seatMap != null; }
+
+    public SeatMap getSeatMap() {
+        SeatMap map = seatMap;
+        if (map == null) {
+            synchronized (this) {
+                map = seatMap;
+                if (map == null) {
+                    map = new SeatMap(flightNumber);
+                    seatMap = map;
+                }
+            }
+        }
+        return map;
+    }
+
 
+    private Object readResolve() {
+        Flight canonical = FlightRegistry.lookup(flightNumber);
+        if (canonical != null) {
+            return canonical;
+        }
+        observers = new CopyOnWriteArrayList<>();
+        priceListeners = new ArrayList<>();
+        return this;
+    }
 
     @Override
     public String toString() {
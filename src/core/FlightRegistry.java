@@ -0,0 +1,42 @@
+package core;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import data.FlightDatabase;
+
+public final class FlightRegistry {
+    private static final Map<String, Flight> flightsByNumber = new ConcurrentHashMap<>();
+
+    private FlightRegistry() {
+    }
+
+    public static Flight register(Flight flight) {
+        Flight existing = flightsByNumber.putIfAbsent(key(flight.getFlightNumber()), flight);
+        return existing != null ? existing : flight;
+    }
+
+    public static Flight lookup(String flightNumber) {
+        if (flightNumber == null) {
+            return null;
+        }
+        return flightsByNumber.get(key(flightNumber));
+    }
+
+    public static Flight resolve(String flightNumber) {
+        Flight flight = lookup(flightNumber);
+        if (flight == null && isEmpty()) {
+            flight = FlightDatabase.getInstance().getFlightByNumber(flightNumber);
+        }
+        return flight;
+    }
+
+    public static boolean isEmpty() {
+        return flightsByNumber.isEmpty();
+    }
+
+    private static String key(String flightNumber) {
+        return flightNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,7 @@
 package core;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -40,10 +42,25 @@ public class GroupBooking implements Serializable {
         calculateTotalCost();
     }
     
+    GroupBooking(String groupId, Flight flight, List<Passenger> passengers, List<Booking> bookings,
+                 double groupDiscountPercentage, String contactName, String contactEmail,
+                 String contactPhone, Map<Passenger, String> seatAssignments) {
+        this.groupId = groupId;
+        this.flight = flight;
+        this.passengers = new ArrayList<>(passengers);
+        this.bookings = new ArrayList<>(bookings);
+        this.groupDiscountPercentage = groupDiscountPercentage;
+        this.contactName = contactName;
+        this.contactEmail = contactEmail;
+        this.contactPhone = contactPhone;
+        this.seatAssignments = new HashMap<>(seatAssignments);
+        calculateTotalCost();
+    }
+    
     private void createBookingsWithoutSeats() {
         for (Passenger passenger : passengers) {
             
-            BookingComponent basicBooking = new ConcreteBooking(flight, passenger.name, null);
+            BookingComponent basicBooking = new ConcreteBooking(flight, passenger.name, (String) null);
             Booking booking = new Booking(basicBooking);
             bookings.add(booking);
         }
@@ -65,11 +82,12 @@ public class GroupBooking implements Serializable {
         
         
         BookingComponent oldComponent = booking.bookingComponent;
-        if (oldComponent instanceof ConcreteBooking) {
-            ConcreteBooking concreteBooking = (ConcreteBooking) oldComponent;
+        if (oldComponent == null || oldComponent instanceof ConcreteBooking) {
             
             
-            String oldSeat = concreteBooking.getSeatCode();
+            String oldSeat = oldComponent == null
+                ? seatAssignments.get(passenger)
+                : ((ConcreteBooking) oldComponent).getSeatCode();
             if (oldSeat != null && !oldSeat.isEmpty()) {
                 flight.getSeatMap().releaseSeat(oldSeat);
             }
@@ -87,6 +105,46 @@ public class GroupBooking implements Serializable {
         return false;
     }
     
+    public boolean assignSeatsTogether() {
+        List<Passenger> unseated = new ArrayList<>();
+        for (Passenger passenger : passengers) {
+            if (!seatAssignments.containsKey(passenger)) {
+                unseated.add(passenger);
+            }
+        }
+        if (unseated.isEmpty()) {
+            return true;
+        }
+        
+        List<String> seatCodes = flight.getSeatMap().reserveBlock(unseated.size());
+        if (seatCodes == null) {
+            return false;
+        }
+        
+        for (int i = 0; i < unseated.size(); i++) {
+            Passenger passenger = unseated.get(i);
+            String seatCode = seatCodes.get(i);
+            Booking booking = bookings.get(passengers.indexOf(passenger));
+            booking.setBookingComponent(new ConcreteBooking(flight, passenger.name, seatCode, true));
+            seatAssignments.put(passenger, seatCode);
+        }
+        return true;
+    }
+    
+    public void releaseSeats() {
+        for (String seatCode : seatAssignments.values()) {
+            flight.getSeatMap().releaseSeat(seatCode);
+        }
+        seatAssignments.clear();
+    }
+    
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        for (String seatCode : seatAssignments.values()) {
+            flight.getSeatMap().bookSeat(seatCode);
+        }
+    }
+    
     public String getAssignedSeat(Passenger passenger) {
         return seatAssignments.get(passenger);
     }
@@ -114,7 +172,7 @@ public class GroupBooking implements Serializable {
             passengers.add(passenger);
             
             
-            BookingComponent basicBooking = new ConcreteBooking(flight, passenger.name, null);
+            BookingComponent basicBooking = new ConcreteBooking(flight, passenger.name, (String) null);
             Booking booking = new Booking(basicBooking);
             bookings.add(booking);
             
@@ -0,0 +1,55 @@
+package core;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class IdGenerator {
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final IdGenerator SHARED = new IdGenerator(defaultNodeId());
+
+    private final long node;
+    private final AtomicLong lastStamp = new AtomicLong();
+
+    public IdGenerator(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE);
+        }
+        this.node = node;
+    }
+
+    public static IdGenerator shared() {
+        return SHARED;
+    }
+
+    public long nextLong() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastStamp.get();
+            long next = Math.max(last + 1, now);
+            if (lastStamp.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public String nextId(String prefix) {
+        return prefix + Long.toString(nextLong(), 36).toUpperCase(Locale.ROOT);
+    }
+
+    private static long defaultNodeId() {
+        String configured = System.getProperty("flightbooking.nodeId");
+        if (configured != null) {
+            try {
+                return Long.parseLong(configured.trim()) & MAX_NODE;
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid flightbooking.nodeId: " + configured);
+            }
+        }
+        return ProcessHandle.current().pid() & MAX_NODE;
+    }
+}
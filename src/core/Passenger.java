@@ -17,6 +17,12 @@ public class Passenger implements Observer, Serializable {
         this.name = name;
     }
 
+    Passenger(String name, int loyaltyPoints, List<Booking> bookings) {
+        this.name = name;
+        this.loyaltyPoints = loyaltyPoints;
+        this.bookings = bookings;
+    }
+
     public void subscribeToFlight(Flight flight) {
         
         if (subscribedFlights == null) {
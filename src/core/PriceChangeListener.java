@@ -0,0 +1,5 @@
+package core;
+
+public interface PriceChangeListener {
+    void priceChanged(Flight flight, double oldPrice);
+}
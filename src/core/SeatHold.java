@@ -0,0 +1,83 @@
+package core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SeatHold {
+    private static final TimingWheel HOLD_TIMER = new TimingWheel("seat-hold-timer", 100, TimeUnit.MILLISECONDS, 512);
+
+    public enum State {
+        HELD,
+        CONFIRMED,
+        RELEASED,
+        EXPIRED
+    }
+
+    private final SeatMap seatMap;
+    private final String seatCode;
+    private final long expiresAtMillis;
+    private final AtomicReference<State> state = new AtomicReference<>(State.HELD);
+    private final TimingWheel.Timeout timeout;
+
+    SeatHold(SeatMap seatMap, String seatCode, long ttl, TimeUnit unit) {
+        this.seatMap = seatMap;
+        this.seatCode = seatCode;
+        this.expiresAtMillis = System.currentTimeMillis() + unit.toMillis(ttl);
+        this.timeout = HOLD_TIMER.schedule(this::expire, ttl, unit);
+    }
+
+    public boolean confirm() {
+        if (state.compareAndSet(State.HELD, State.CONFIRMED)) {
+            timeout.cancel();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean secure() {
+        if (confirm()) {
+            return true;
+        }
+        return state.get() == State.EXPIRED && seatMap.bookSeat(seatCode)
+            && state.compareAndSet(State.EXPIRED, State.CONFIRMED);
+    }
+
+    public boolean release() {
+        if (state.compareAndSet(State.HELD, State.RELEASED)) {
+            timeout.cancel();
+            seatMap.releaseSeat(seatCode);
+            return true;
+        }
+        if (state.compareAndSet(State.CONFIRMED, State.RELEASED)) {
+            seatMap.releaseSeat(seatCode);
+            return true;
+        }
+        return false;
+    }
+
+    private void expire() {
+        if (state.compareAndSet(State.HELD, State.EXPIRED)) {
+            seatMap.releaseSeat(seatCode);
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public boolean isHeld() {
+        return state.get() == State.HELD;
+    }
+
+    public String getSeatCode() {
+        return seatCode;
+    }
+
+    public SeatMap getSeatMap() {
+        return seatMap;
+    }
+
+    public long getRemainingMillis() {
+        return Math.max(0, expiresAtMillis - System.currentTimeMillis());
+    }
+}
@@ -1,12 +1,16 @@
 package core;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class SeatMap implements Serializable {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 3L;
     
     
     private final int rows;
@@ -14,10 +18,12 @@ public class SeatMap implements Serializable {
     
     
     private static final int DEFAULT_ROWS = 30;
-    private static final int DEFAULT_COLUMNS = 7; 
+    private static final int DEFAULT_COLUMNS = 7;
+    private static final int MAX_BLOCK_ATTEMPTS = 8;
+    private static final int AISLE_COLUMN = 3;
     
     
-    private Map<String, Boolean> occupiedSeats;
+    private final AtomicLongArray occupancy;
     
     
     private final String flightNumber;
@@ -30,32 +36,78 @@ public class SeatMap implements Serializable {
         this.flightNumber = flightNumber;
         this.rows = rows;
         this.columns = columns;
-        this.occupiedSeats = new HashMap<>();
+        this.occupancy = new AtomicLongArray(wordCount(rows, columns));
         
         
         initializeRandomOccupiedSeats();
     }
     
+    public SeatMap(String flightNumber, int rows, int columns, long[] occupancy) {
+        this.flightNumber = flightNumber;
+        this.rows = rows;
+        this.columns = columns;
+        this.occupancy = new AtomicLongArray(wordCount(rows, columns));
+        int words = this.occupancy.length();
+        for (int w = 0; w < Math.min(occupancy.length, words); w++) {
+            this.occupancy.set(w, w == words - 1 ? occupancy[w] & lastWordMask() : occupancy[w]);
+        }
+        if (hasAisle()) {
+            for (int r = 0; r < rows; r++) {
+                releaseSeatAt(r * columns + AISLE_COLUMN);
+            }
+        }
+    }
+    
+    private boolean hasAisle() {
+        return columns > AISLE_COLUMN;
+    }
+    
+    private static int wordCount(int rows, int columns) {
+        return Math.max(1, (rows * columns + 63) >>> 6);
+    }
+    
+    private long lastWordMask() {
+        int used = (rows * columns) & 63;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+    
     private void initializeRandomOccupiedSeats() {
-        Random random = new Random();
+        Random random = new Random(seedFor(flightNumber));
         
-        int totalSeats = rows * columns;
+        int seatsPerRow = hasAisle() ? columns - 1 : columns;
+        int totalSeats = rows * seatsPerRow;
         int seatsToOccupy = totalSeats * 30 / 100;
         
-        for (int i = 0; i < seatsToOccupy; i++) {
-            int randomRow = random.nextInt(rows) + 1; 
-            int randomColumn = random.nextInt(columns); 
-            
-            String seatCode = getSeatCode(randomRow, randomColumn);
-            
+        
+        long[] sampled = new long[(totalSeats + 63) >>> 6];
+        long[] bits = new long[occupancy.length()];
+        for (int j = totalSeats - seatsToOccupy; j < totalSeats; j++) {
+            int candidate = random.nextInt(j + 1);
+            if ((sampled[candidate >>> 6] & (1L << candidate)) != 0) {
+                candidate = j;
+            }
+            sampled[candidate >>> 6] |= 1L << candidate;
             
-            if (!occupiedSeats.containsKey(seatCode)) {
-                occupiedSeats.put(seatCode, true);
-            } else {
-                
-                i--;
+            int column = candidate % seatsPerRow;
+            if (hasAisle() && column >= AISLE_COLUMN) {
+                column++;
+            }
+            int index = candidate / seatsPerRow * columns + column;
+            bits[index >>> 6] |= 1L << index;
+        }
+        for (int w = 0; w < bits.length; w++) {
+            occupancy.set(w, bits[w]);
+        }
+    }
+    
+    private static long seedFor(String flightNumber) {
+        long seed = 0x9E3779B97F4A7C15L;
+        if (flightNumber != null) {
+            for (int i = 0; i < flightNumber.length(); i++) {
+                seed = (seed ^ flightNumber.charAt(i)) * 0x100000001B3L;
             }
         }
+        return seed;
     }
     
     public String getSeatCode(int row, int column) {
@@ -101,26 +153,125 @@ public class SeatMap implements Serializable {
         return new int[]{row, column};
     }
     
+    public int getSeatIndex(int row, int column) {
+        if (row < 1 || row > rows || column < 0 || column >= columns || (hasAisle() && column == AISLE_COLUMN)) {
+            return -1;
+        }
+        return (row - 1) * columns + column;
+    }
+    
+    public int getSeatIndex(String seatCode) {
+        if (seatCode == null || seatCode.isEmpty()) {
+            return -1;
+        }
+        
+        int row = 0;
+        int i = 0;
+        while (i < seatCode.length() && Character.isDigit(seatCode.charAt(i)) && row < 100000) {
+            row = row * 10 + (seatCode.charAt(i) - '0');
+            i++;
+        }
+        if (i == 0 || i != seatCode.length() - 1) {
+            return -1;
+        }
+        
+        char columnLetter = Character.toUpperCase(seatCode.charAt(i));
+        int column;
+        if (columnLetter >= 'A' && columnLetter <= 'C') {
+            column = columnLetter - 'A';
+        } else if (columnLetter >= 'E') {
+            column = columnLetter - 'A' - 1;
+        } else {
+            return -1;
+        }
+        return getSeatIndex(row, column);
+    }
+    
+    public boolean isValidSeat(String seatCode) {
+        return getSeatIndex(seatCode) >= 0;
+    }
+    
     public boolean bookSeat(String seatCode) {
-        if (isSeatOccupied(seatCode)) {
-            return false;
+        return bookSeatAt(getSeatIndex(seatCode));
+    }
+    
+    public boolean bookSeat(int row, int column) {
+        return bookSeatAt(getSeatIndex(row, column));
+    }
+    
+    public SeatHold holdSeat(String seatCode, long ttl, TimeUnit unit) {
+        if (!bookSeat(seatCode)) {
+            return null;
         }
-        occupiedSeats.put(seatCode, true);
-        return true;
+        return new SeatHold(this, seatCode, ttl, unit);
+    }
+    
+    public SeatHold holdSeat(int row, int column, long ttl, TimeUnit unit) {
+        return holdSeat(getSeatCode(row, column), ttl, unit);
     }
     
     public void releaseSeat(String seatCode) {
-        occupiedSeats.remove(seatCode);
+        releaseSeatAt(getSeatIndex(seatCode));
+    }
+    
+    public void releaseSeat(int row, int column) {
+        releaseSeatAt(getSeatIndex(row, column));
     }
     
     public boolean isSeatOccupied(String seatCode) {
-        return occupiedSeats.containsKey(seatCode) && occupiedSeats.get(seatCode);
+        return isOccupiedAt(getSeatIndex(seatCode));
+    }
+    
+    public boolean isSeatOccupied(int row, int column) {
+        return isOccupiedAt(getSeatIndex(row, column));
     }
     
     public boolean isSeatAvailable(String seatCode) {
         return !isSeatOccupied(seatCode);
     }
     
+    public boolean isSeatAvailable(int row, int column) {
+        return !isSeatOccupied(row, column);
+    }
+    
+    private boolean bookSeatAt(int index) {
+        if (index < 0) {
+            return false;
+        }
+        long bit = 1L << index;
+        int word = index >>> 6;
+        while (true) {
+            long current = occupancy.get(word);
+            if ((current & bit) != 0) {
+                return false;
+            }
+            if (occupancy.compareAndSet(word, current, current | bit)) {
+                return true;
+            }
+        }
+    }
+    
+    private boolean releaseSeatAt(int index) {
+        if (index < 0) {
+            return false;
+        }
+        long bit = 1L << index;
+        int word = index >>> 6;
+        while (true) {
+            long current = occupancy.get(word);
+            if ((current & bit) == 0) {
+                return false;
+            }
+            if (occupancy.compareAndSet(word, current, current & ~bit)) {
+                return true;
+            }
+        }
+    }
+    
+    private boolean isOccupiedAt(int index) {
+        return index >= 0 && (occupancy.get(index >>> 6) & (1L << index)) != 0;
+    }
+    
     public boolean changeSeat(String seatCode) {
         
         if (!isSeatAvailable(seatCode)) {
@@ -131,8 +282,143 @@ public class SeatMap implements Serializable {
         return bookSeat(seatCode);
     }
     
+    public List<String> reserveBlock(int seatCount) {
+        if (seatCount <= 0 || columns > Long.SIZE) {
+            return null;
+        }
+        for (int attempt = 0; attempt < MAX_BLOCK_ATTEMPTS; attempt++) {
+            int[] indices = findBlock(seatCount);
+            if (indices == null) {
+                return null;
+            }
+            if (bookAll(indices)) {
+                List<String> seatCodes = new ArrayList<>(indices.length);
+                for (int index : indices) {
+                    seatCodes.add(getSeatCode(index / columns + 1, index % columns));
+                }
+                return seatCodes;
+            }
+        }
+        return null;
+    }
+    
+    private int[] findBlock(int seatCount) {
+        long[] freeRows = new long[rows];
+        int bestRow = -1;
+        int bestStart = -1;
+        int bestLength = Integer.MAX_VALUE;
+        for (int r = 0; r < rows; r++) {
+            long free = ~rowBits(r) & seatMask();
+            freeRows[r] = free;
+            while (free != 0) {
+                int start = Long.numberOfTrailingZeros(free);
+                int length = Long.numberOfTrailingZeros(~(free >>> start));
+                if (length >= seatCount && length < bestLength) {
+                    bestRow = r;
+                    bestStart = start;
+                    bestLength = length;
+                }
+                free &= length == Long.SIZE ? 0 : ~(((1L << length) - 1) << start);
+            }
+            if (bestLength == seatCount) {
+                break;
+            }
+        }
+        
+        int[] indices = new int[seatCount];
+        if (bestRow >= 0) {
+            for (int i = 0; i < seatCount; i++) {
+                indices[i] = bestRow * columns + bestStart + i;
+            }
+            return indices;
+        }
+        
+        int firstRow = -1;
+        int spanRows = Integer.MAX_VALUE;
+        int available = 0;
+        for (int start = 0, end = 0; end < rows; end++) {
+            available += Long.bitCount(freeRows[end]);
+            while (available - Long.bitCount(freeRows[start]) >= seatCount) {
+                available -= Long.bitCount(freeRows[start++]);
+            }
+            if (available >= seatCount && end - start + 1 < spanRows) {
+                firstRow = start;
+                spanRows = end - start + 1;
+            }
+        }
+        if (firstRow < 0) {
+            return null;
+        }
+        
+        int filled = 0;
+        for (int r = firstRow; filled < seatCount; r++) {
+            long free = freeRows[r];
+            while (free != 0 && filled < seatCount) {
+                indices[filled++] = r * columns + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+            }
+        }
+        return indices;
+    }
+    
+    private long rowBits(int row) {
+        int first = row * columns;
+        int word = first >>> 6;
+        int offset = first & 63;
+        long bits = occupancy.get(word) >>> offset;
+        if (offset + columns > Long.SIZE) {
+            bits |= occupancy.get(word + 1) << (Long.SIZE - offset);
+        }
+        return bits & columnMask();
+    }
+    
+    private long columnMask() {
+        return columns == Long.SIZE ? -1L : (1L << columns) - 1;
+    }
+    
+    private long seatMask() {
+        return hasAisle() ? columnMask() & ~(1L << AISLE_COLUMN) : columnMask();
+    }
+    
+    private boolean bookAll(int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            if (!bookSeatAt(indices[i])) {
+                for (int j = 0; j < i; j++) {
+                    releaseSeatAt(indices[j]);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+    
     public Map<String, Boolean> getOccupiedSeats() {
-        return new HashMap<>(occupiedSeats);
+        Map<String, Boolean> occupiedSeats = new HashMap<>();
+        for (int w = 0; w < occupancy.length(); w++) {
+            long bits = occupancy.get(w);
+            while (bits != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+                occupiedSeats.put(getSeatCode(index / columns + 1, index % columns), true);
+                bits &= bits - 1;
+            }
+        }
+        return occupiedSeats;
+    }
+    
+    public int getOccupiedSeatCount() {
+        int count = 0;
+        for (int w = 0; w < occupancy.length(); w++) {
+            count += Long.bitCount(occupancy.get(w));
+        }
+        return count;
+    }
+    
+    public long[] toOccupancyBitmap() {
+        long[] bitmap = new long[occupancy.length()];
+        for (int w = 0; w < bitmap.length; w++) {
+            bitmap[w] = occupancy.get(w);
+        }
+        return bitmap;
     }
     
     public int getRows() {
@@ -147,18 +433,32 @@ public class SeatMap implements Serializable {
         return flightNumber;
     }
     
-    public String getNextAvailableSeat() {
-        
-        for (int row = 1; row <= rows; row++) {
-            for (int col = 0; col < columns; col++) {
-                String seatCode = getSeatCode(row, col);
-                if (!isSeatOccupied(seatCode)) {
-                    return seatCode;
+    public int getNextAvailableSeatIndex() {
+        int words = occupancy.length();
+        for (int w = 0; w < words; w++) {
+            long free = ~occupancy.get(w);
+            if (w == words - 1) {
+                free &= lastWordMask();
+            }
+            while (free != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(free);
+                if (index >= rows * columns) {
+                    return -1;
                 }
+                if (!hasAisle() || index % columns != AISLE_COLUMN) {
+                    return index;
+                }
+                free &= free - 1;
             }
         }
-        
-        
-        return null;
+        return -1;
+    }
+    
+    public String getNextAvailableSeat() {
+        int index = getNextAvailableSeatIndex();
+        if (index < 0) {
+            return null;
+        }
+        return getSeatCode(index / columns + 1, index % columns);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+package data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import core.Flight;
+import ui.ConsoleColors;
+
+class FlightCsvLoader {
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int COLUMNS = 8;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    static final class Result {
+        private final boolean empty;
+        private final List<Flight> flights;
+        private final List<String> rejectedRows;
+
+        private Result(boolean empty, List<Flight> flights, List<String> rejectedRows) {
+            this.empty = empty;
+            this.flights = flights;
+            this.rejectedRows = rejectedRows;
+        }
+
+        boolean isEmpty() { return empty; }
+        List<Flight> getFlights() { return flights; }
+        List<String> getRejectedRows() { return rejectedRows; }
+    }
+
+    static Result load(Path path, SymbolTable airports, SymbolTable airlines) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = nextLineStart(channel, 0, size);
+            if (size == 0) {
+                return new Result(true, new ArrayList<>(), new ArrayList<>());
+            }
+
+            List<long[]> chunks = new ArrayList<>();
+            long start = dataStart;
+            while (start < size) {
+                long end = start + CHUNK_SIZE >= size ? size : nextLineStart(channel, start + CHUNK_SIZE, size);
+                chunks.add(new long[]{start, end});
+                start = end;
+            }
+
+            List<Flight> flights = new ArrayList<>();
+            List<String> rejectedRows = new ArrayList<>();
+            try {
+                for (ChunkResult chunk : ForkJoinPool.commonPool().invoke(new ChunkTask(channel, chunks, 0, chunks.size(), airports, airlines))) {
+                    flights.addAll(chunk.flights);
+                    rejectedRows.addAll(chunk.rejectedRows);
+                }
+            } catch (RuntimeException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw e;
+            }
+            return new Result(false, flights, rejectedRows);
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(512);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static final class ChunkResult {
+        private final List<Flight> flights = new ArrayList<>();
+        private final List<String> rejectedRows = new ArrayList<>();
+    }
+
+    private static final class ChunkTask extends RecursiveTask<List<ChunkResult>> {
+        private static final long serialVersionUID = 1L;
+        private final transient FileChannel channel;
+        private final transient List<long[]> chunks;
+        private final int from;
+        private final int to;
+        private final transient SymbolTable airports;
+        private final transient SymbolTable airlines;
+
+        ChunkTask(FileChannel channel, List<long[]> chunks, int from, int to, SymbolTable airports, SymbolTable airlines) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+            this.airports = airports;
+            this.airlines = airlines;
+        }
+
+        @Override
+        protected List<ChunkResult> compute() {
+            if (to - from == 1) {
+                List<ChunkResult> results = new ArrayList<>(1);
+                long[] range = chunks.get(from);
+                try {
+                    results.add(parseChunk(channel.map(FileChannel.MapMode.READ_ONLY, range[0], range[1] - range[0]), airports, airlines));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return results;
+            }
+            if (to <= from) {
+                return new ArrayList<>();
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(channel, chunks, from, middle, airports, airlines);
+            ChunkTask right = new ChunkTask(channel, chunks, middle, to, airports, airlines);
+            right.fork();
+            List<ChunkResult> results = left.compute();
+            results.addAll(right.join());
+            return results;
+        }
+    }
+
+    private static ChunkResult parseChunk(MappedByteBuffer buffer, SymbolTable airports, SymbolTable airlines) {
+        ChunkResult result = new ChunkResult();
+        byte[] line = new byte[256];
+        int[] fieldStart = new int[COLUMNS];
+        int[] fieldEnd = new int[COLUMNS];
+        int limit = buffer.limit();
+        int position = 0;
+
+        while (position < limit) {
+            int length = 0;
+            while (position < limit) {
+                byte b = buffer.get(position++);
+                if (b == '\n') {
+                    break;
+                }
+                if (length == line.length) {
+                    byte[] grown = new byte[line.length * 2];
+                    System.arraycopy(line, 0, grown, 0, length);
+                    line = grown;
+                }
+                line[length++] = b;
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+
+            int fields = 0;
+            int nonEmptyFields = 0;
+            int start = 0;
+            for (int i = 0; i <= length; i++) {
+                if (i == length || line[i] == ',') {
+                    if (fields < COLUMNS) {
+                        fieldStart[fields] = start;
+                        fieldEnd[fields] = i;
+                    }
+                    fields++;
+                    if (i > start) {
+                        nonEmptyFields = fields;
+                    }
+                    start = i + 1;
+                }
+            }
+            fields = nonEmptyFields;
+
+            if (fields != COLUMNS) {
+                result.rejectedRows.add(ConsoleColors.YELLOW + "Skipping malformed row (expected 8 columns): "
+                                        + new String(line, 0, length, StandardCharsets.UTF_8) + ConsoleColors.RESET);
+                continue;
+            }
+
+            for (int f = 0; f < COLUMNS; f++) {
+                int s = fieldStart[f];
+                int e = fieldEnd[f];
+                while (s < e && (line[s] & 0xFF) <= ' ') {
+                    s++;
+                }
+                while (e > s && (line[e - 1] & 0xFF) <= ' ') {
+                    e--;
+                }
+                fieldStart[f] = s;
+                fieldEnd[f] = e;
+            }
+
+            try {
+                String flightNumber = text(line, fieldStart[0], fieldEnd[0]);
+                String departure = airports.intern(text(line, fieldStart[1], fieldEnd[1]));
+                String arrival = airports.intern(text(line, fieldStart[2], fieldEnd[2]));
+                String airline = airlines.intern(text(line, fieldStart[3], fieldEnd[3]));
+                LocalDate date = parseDate(line, fieldStart[4], fieldEnd[4]);
+                LocalTime time = parseTime(line, fieldStart[5], fieldEnd[5]);
+                double duration = parseDouble(line, fieldStart[6], fieldEnd[6]);
+                double price = parseDouble(line, fieldStart[7], fieldEnd[7]);
+
+                result.flights.add(new Flight(flightNumber, departure, arrival, airline, date, time, duration, price));
+            } catch (DateTimeException | NumberFormatException e) {
+                result.rejectedRows.add(ConsoleColors.RED + "Skipping invalid row: " + new String(line, 0, length, StandardCharsets.UTF_8)
+                                        + " - Error: " + e.getMessage() + ConsoleColors.RESET);
+            }
+        }
+        return result;
+    }
+
+    private static String text(byte[] line, int start, int end) {
+        return new String(line, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static int digit(byte b) {
+        int d = b - '0';
+        return d >= 0 && d <= 9 ? d : -1;
+    }
+
+    private static int digits(byte[] line, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int d = digit(line[i]);
+            if (d < 0) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    static LocalDate parseDate(byte[] line, int start, int end) {
+        if (end - start == 10 && line[start + 4] == '-' && line[start + 7] == '-') {
+            int year = digits(line, start, 4);
+            int month = digits(line, start + 5, 2);
+            int day = digits(line, start + 8, 2);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= 28) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(text(line, start, end), DATE_FORMATTER);
+    }
+
+    static LocalTime parseTime(byte[] line, int start, int end) {
+        if (end - start == 5 && line[start + 2] == ':') {
+            int hour = digits(line, start, 2);
+            int minute = digits(line, start + 3, 2);
+            if (hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59) {
+                return LocalTime.of(hour, minute);
+            }
+        }
+        return LocalTime.parse(text(line, start, end), TIME_FORMATTER);
+    }
+
+    static double parseDouble(byte[] line, int start, int end) {
+        long mantissa = 0;
+        int significant = 0;
+        int fractionDigits = -1;
+        for (int i = start; i < end; i++) {
+            byte b = line[i];
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int d = digit(b);
+            if (d < 0 || significant >= 15) {
+                return Double.parseDouble(text(line, start, end));
+            }
+            mantissa = mantissa * 10 + d;
+            significant++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (significant == 0) {
+            return Double.parseDouble(text(line, start, end));
+        }
+        return fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+    }
+}
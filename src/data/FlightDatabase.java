@@ -1,32 +1,59 @@
 package data;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import core.Flight;
+import core.FlightRegistry;
 import ui.ConsoleColors;
 
 public class FlightDatabase {
     private List<Flight> flights = new ArrayList<>();
+    private final Map<String, Flight> flightsByNumber = new HashMap<>();
+    private final Map<String, List<Flight>> flightsByRoute = new HashMap<>();
+    private final Map<String, List<Flight>> flightsByAirline = new HashMap<>();
+    private final SortedIndex<LocalDate> flightsByDate = new SortedIndex<>();
+    private final Map<String, SortedIndex<LocalDate>> routeDates = new HashMap<>();
+    private final SortedIndex<Double> flightsByPrice = new SortedIndex<>();
+    private final SortedIndex<Double> flightsByDuration = new SortedIndex<>();
+    private final Map<String, SortedIndex<Double>> routePrices = new HashMap<>();
+    private final Map<String, SortedIndex<Double>> routeDurations = new HashMap<>();
+    private final SymbolTable airports = new SymbolTable();
+    private final SymbolTable airlines = new SymbolTable();
+    private final BitSet departureIds = new BitSet();
+    private final BitSet arrivalIds = new BitSet();
+    private final BitSet airlineIds = new BitSet();
+    private volatile List<String> departureCatalog = Collections.emptyList();
+    private volatile List<String> arrivalCatalog = Collections.emptyList();
+    private volatile List<String> airlineCatalog = Collections.emptyList();
+    private final Map<String, List<String>> arrivalsByDeparture = new HashMap<>();
     private static final String CSV_FILE_NAME = "data.csv";
+    private static final String SNAPSHOT_FILE_NAME = "flights.snapshot";
+
+    private static final class InstanceHolder {
+        private static final FlightDatabase INSTANCE = new FlightDatabase();
+    }
 
     public FlightDatabase() {
         loadFlightsFromCSV();
     }
 
+    public static FlightDatabase getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
     private void loadFlightsFromCSV() {
         
         List<Path> potentialPaths = new ArrayList<>();
@@ -74,62 +101,209 @@ public class FlightDatabase {
             return;
         }
         
+        Path snapshotPath = validPath.resolveSibling(SNAPSHOT_FILE_NAME);
+        if (FlightSnapshot.isFresh(snapshotPath, validPath) && loadFlightsFromSnapshot(snapshotPath)) {
+            return;
+        }
         
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ISO_LOCAL_DATE;
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-
-        try (BufferedReader br = new BufferedReader(new FileReader(validPath.toFile()))) {
-            String line = br.readLine();
-            if (line == null) {
+        try {
+            FlightCsvLoader.Result result = FlightCsvLoader.load(validPath, airports, airlines);
+            if (result.isEmpty()) {
                 System.err.println(ConsoleColors.RED + "CSV file is empty: " + validPath.toAbsolutePath() + ConsoleColors.RESET);
                 return;
             }
 
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                if (values.length == 8) {
-                    try {
-                        String flightNumber = values[0].trim();
-                        String departure = values[1].trim();
-                        String arrival = values[2].trim();
-                        String airline = values[3].trim();
-                        LocalDate date = LocalDate.parse(values[4].trim(), dateFormatter);
-                        LocalTime time = LocalTime.parse(values[5].trim(), timeFormatter);
-                        double duration = Double.parseDouble(values[6].trim());
-                        double price = Double.parseDouble(values[7].trim());
-
-                        flights.add(new Flight(flightNumber, departure, arrival, airline, date, time, duration, price));
-                    } catch (DateTimeParseException | NumberFormatException e) {
-                        System.err.println(ConsoleColors.RED + "Skipping invalid row: " + line + " - Error: " + e.getMessage() + ConsoleColors.RESET);
-                    }
-                } else {
-                     System.err.println(ConsoleColors.YELLOW + "Skipping malformed row (expected 8 columns): " + line + ConsoleColors.RESET);
-                }
+            for (String rejectedRow : result.getRejectedRows()) {
+                System.err.println(rejectedRow);
+            }
+            for (Flight flight : result.getFlights()) {
+                addFlight(flight);
             }
             System.out.println(ConsoleColors.GREEN + "Loaded " + flights.size() + " flights from " + validPath.getFileName() + ConsoleColors.RESET);
 
         } catch (IOException e) {
             System.err.println(ConsoleColors.RED + "Error loading flights from CSV: " + validPath.toAbsolutePath() + " - " + e.getMessage() + ConsoleColors.RESET);
+            return;
+        }
+        
+        try {
+            FlightSnapshot.write(snapshotPath, flights);
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.YELLOW + "Could not write flight snapshot: " + snapshotPath.toAbsolutePath() + " - " + e.getMessage() + ConsoleColors.RESET);
+        }
+    }
+
+    private boolean loadFlightsFromSnapshot(Path snapshotPath) {
+        List<Flight> snapshot;
+        try {
+            snapshot = FlightSnapshot.read(snapshotPath, airports, airlines);
+        } catch (IOException | RuntimeException e) {
+            System.err.println(ConsoleColors.YELLOW + "Ignoring unreadable flight snapshot: " + snapshotPath.toAbsolutePath() + " - " + e.getMessage() + ConsoleColors.RESET);
+            return false;
+        }
+        
+        for (Flight flight : snapshot) {
+            addFlight(flight);
+        }
+        System.out.println(ConsoleColors.GREEN + "Loaded " + flights.size() + " flights from " + snapshotPath.getFileName() + ConsoleColors.RESET);
+        return true;
+    }
+
+    public void addFlight(Flight flight) {
+        flights.add(flight);
+        String route = routeKey(flight.getDeparture(), flight.getArrival());
+        flightsByNumber.putIfAbsent(normalize(flight.getFlightNumber()), flight);
+        FlightRegistry.register(flight);
+        if (!flightsByRoute.containsKey(route)) {
+            String departureKey = normalize(flight.getDeparture());
+            List<String> arrivals = arrivalsByDeparture.getOrDefault(departureKey, Collections.emptyList());
+            arrivalsByDeparture.put(departureKey, withSymbol(arrivals, flight.getArrival()));
+        }
+        flightsByRoute.computeIfAbsent(route, k -> new ArrayList<>()).add(flight);
+        flightsByAirline.computeIfAbsent(normalize(flight.getAirline()), k -> new ArrayList<>()).add(flight);
+        flightsByDate.add(flight.getDepartureDate(), flight);
+        routeDates.computeIfAbsent(route, k -> new SortedIndex<>()).add(flight.getDepartureDate(), flight);
+        flightsByPrice.add(flight.getPrice(), flight);
+        routePrices.computeIfAbsent(route, k -> new SortedIndex<>()).add(flight.getPrice(), flight);
+        flightsByDuration.add(flight.getDuration(), flight);
+        routeDurations.computeIfAbsent(route, k -> new SortedIndex<>()).add(flight.getDuration(), flight);
+        flight.addPriceChangeListener(this::reindexPrice);
+        if (markSeen(departureIds, airports.id(flight.getDeparture()))) {
+            departureCatalog = withSymbol(departureCatalog, flight.getDeparture());
+        }
+        if (markSeen(arrivalIds, airports.id(flight.getArrival()))) {
+            arrivalCatalog = withSymbol(arrivalCatalog, flight.getArrival());
+        }
+        if (markSeen(airlineIds, airlines.id(flight.getAirline()))) {
+            airlineCatalog = withSymbol(airlineCatalog, flight.getAirline());
+        }
+    }
+
+    private static boolean markSeen(BitSet seen, int id) {
+        if (seen.get(id)) {
+            return false;
+        }
+        seen.set(id);
+        return true;
+    }
+
+    private static List<String> withSymbol(List<String> catalog, String symbol) {
+        int position = Collections.binarySearch(catalog, symbol);
+        if (position >= 0) {
+            return catalog;
+        }
+        int insertAt = -position - 1;
+        List<String> updated = new ArrayList<>(catalog.size() + 1);
+        updated.addAll(catalog.subList(0, insertAt));
+        updated.add(symbol);
+        updated.addAll(catalog.subList(insertAt, catalog.size()));
+        return Collections.unmodifiableList(updated);
+    }
+
+    private void reindexPrice(Flight flight, double oldPrice) {
+        flightsByPrice.remove(oldPrice, flight);
+        flightsByPrice.add(flight.getPrice(), flight);
+        SortedIndex<Double> prices = routePrices.get(routeKey(flight.getDeparture(), flight.getArrival()));
+        if (prices != null) {
+            prices.remove(oldPrice, flight);
+            prices.add(flight.getPrice(), flight);
         }
     }
 
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String routeKey(String departure, String arrival) {
+        return normalize(departure) + "->" + normalize(arrival);
+    }
+
     public List<Flight> searchFlights(String departure, String arrival) {
-        List<Flight> result = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getDeparture().equalsIgnoreCase(departure) && flight.getArrival().equalsIgnoreCase(arrival)) {
-                result.add(flight);
+        return new ArrayList<>(flightsByRoute.getOrDefault(routeKey(departure, arrival), Collections.emptyList()));
+    }
+
+    public List<Flight> searchFlights(String departure, String arrival, LocalDate startDate, LocalDate endDate) {
+        SortedIndex<LocalDate> dates = routeDates.get(routeKey(departure, arrival));
+        if (dates == null) {
+            return new ArrayList<>();
+        }
+        return dates.range(startDate, endDate);
+    }
+
+    public List<Flight> topK(String departure, String arrival, int k, FlightOrder order) {
+        Map<String, SortedIndex<Double>> index = order == FlightOrder.DURATION ? routeDurations : routePrices;
+        SortedIndex<Double> ordered = index.get(routeKey(departure, arrival));
+        if (ordered == null || k <= 0) {
+            return new ArrayList<>();
+        }
+        return ordered.first(k);
+    }
+
+    public FlightQuery query() {
+        return new FlightQuery(this);
+    }
+
+    Stream<Flight> plan(FlightQuery query) {
+        QueryPlan plan = new QueryPlan(flights.size(), flights::stream);
+        LocalDate start = query.getStartDate();
+        LocalDate end = query.getEndDate();
+        Double maxPrice = query.getMaxPrice();
+        Double maxDuration = query.getMaxDuration();
+        boolean hasDates = start != null && end != null;
+
+        if (query.getDeparture() != null && query.getArrival() != null) {
+            String route = routeKey(query.getDeparture(), query.getArrival());
+            List<Flight> routeFlights = flightsByRoute.getOrDefault(route, Collections.emptyList());
+            plan.consider(routeFlights.size(), routeFlights::stream);
+
+            SortedIndex<LocalDate> dates = routeDates.get(route);
+            if (hasDates && dates != null) {
+                plan.consider(dates.countRange(start, end, plan.cost), () -> dates.streamRange(start, end));
+            }
+            SortedIndex<Double> prices = routePrices.get(route);
+            if (maxPrice != null && prices != null) {
+                plan.consider(prices.countUpTo(maxPrice, plan.cost), () -> prices.streamUpTo(maxPrice));
+            }
+            SortedIndex<Double> durations = routeDurations.get(route);
+            if (maxDuration != null && durations != null) {
+                plan.consider(durations.countUpTo(maxDuration, plan.cost), () -> durations.streamUpTo(maxDuration));
             }
         }
-        return result;
+        if (query.getAirline() != null) {
+            List<Flight> airlineFlights = flightsByAirline.getOrDefault(normalize(query.getAirline()), Collections.emptyList());
+            plan.consider(airlineFlights.size(), airlineFlights::stream);
+        }
+        if (hasDates) {
+            plan.consider(flightsByDate.countRange(start, end, plan.cost), () -> flightsByDate.streamRange(start, end));
+        }
+        if (maxPrice != null) {
+            plan.consider(flightsByPrice.countUpTo(maxPrice, plan.cost), () -> flightsByPrice.streamUpTo(maxPrice));
+        }
+        if (maxDuration != null) {
+            plan.consider(flightsByDuration.countUpTo(maxDuration, plan.cost), () -> flightsByDuration.streamUpTo(maxDuration));
+        }
+        return plan.source.get();
     }
 
-    public Flight getFlightByNumber(String flightNumber) {
-        for (Flight flight : flights) {
-            if (flight.getFlightNumber().equalsIgnoreCase(flightNumber)) {
-                return flight;
+    private static final class QueryPlan {
+        private int cost;
+        private Supplier<Stream<Flight>> source;
+
+        QueryPlan(int cost, Supplier<Stream<Flight>> source) {
+            this.cost = cost;
+            this.source = source;
+        }
+
+        void consider(int candidateCost, Supplier<Stream<Flight>> candidateSource) {
+            if (candidateCost < cost) {
+                cost = candidateCost;
+                source = candidateSource;
             }
         }
-        return null;
+    }
+
+    public Flight getFlightByNumber(String flightNumber) {
+        return flightsByNumber.get(normalize(flightNumber));
     }
 
     public boolean updateFlightStatus(String flightNumber, String newStatus) {
@@ -141,78 +315,35 @@ public class FlightDatabase {
         return false;
     }
     public List<String> getAvailableDepartures() {
-        Set<String> departures = new TreeSet<>(); 
-        for (Flight flight : flights) {
-            departures.add(flight.getDeparture());
-        }
-        return new ArrayList<>(departures);
+        return departureCatalog;
     }
 
     public List<String> getAvailableArrivals() {
-        Set<String> arrivals = new TreeSet<>(); 
-        for (Flight flight : flights) {
-            arrivals.add(flight.getArrival());
-        }
-        return new ArrayList<>(arrivals);
+        return arrivalCatalog;
     }
 
     public List<String> getAvailableArrivalsFrom(String departureCity) {
-        return flights.stream()
-                      .filter(f -> f.getDeparture().equalsIgnoreCase(departureCity))
-                      .map(Flight::getArrival)
-                      .distinct()
-                      .sorted()
-                      .collect(Collectors.toList());
+        return arrivalsByDeparture.getOrDefault(normalize(departureCity), Collections.emptyList());
     }
     
     public List<String> getAvailableAirlines() {
-        Set<String> airlines = new TreeSet<>(); 
-        for (Flight flight : flights) {
-            airlines.add(flight.getAirline());
-        }
-        return new ArrayList<>(airlines);
+        return airlineCatalog;
     }
     
     public List<Flight> getFlightsByDateRange(LocalDate startDate, LocalDate endDate) {
-        List<Flight> results = new ArrayList<>();
-        for (Flight flight : flights) {
-            LocalDate departureDate = flight.getDepartureDate();
-            if ((departureDate.isEqual(startDate) || departureDate.isAfter(startDate)) &&
-                (departureDate.isEqual(endDate) || departureDate.isBefore(endDate))) {
-                results.add(flight);
-            }
-        }
-        return results;
+        return flightsByDate.range(startDate, endDate);
     }
     
     public List<Flight> getFlightsByMaxPrice(double maxPrice) {
-        List<Flight> results = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getPrice() <= maxPrice) {
-                results.add(flight);
-            }
-        }
-        return results;
+        return flightsByPrice.upTo(maxPrice);
     }
     
     public List<Flight> getFlightsByAirline(String airline) {
-        List<Flight> results = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getAirline().equalsIgnoreCase(airline)) {
-                results.add(flight);
-            }
-        }
-        return results;
+        return new ArrayList<>(flightsByAirline.getOrDefault(normalize(airline), Collections.emptyList()));
     }
     
     public List<Flight> getFlightsByMaxDuration(double maxDuration) {
-        List<Flight> results = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getDuration() <= maxDuration) {
-                results.add(flight);
-            }
-        }
-        return results;
+        return flightsByDuration.upTo(maxDuration);
     }
     
     public List<Flight> getAllFlights() {
@@ -0,0 +1,6 @@
+package data;
+
+public enum FlightOrder {
+    PRICE,
+    DURATION
+}
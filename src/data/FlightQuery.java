@@ -0,0 +1,105 @@
+package data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import core.Flight;
+
+public class FlightQuery {
+    private final FlightDatabase database;
+    private String departure;
+    private String arrival;
+    private String airline;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Double maxPrice;
+    private Double maxDuration;
+    private boolean contradictory;
+
+    FlightQuery(FlightDatabase database) {
+        this.database = database;
+    }
+
+    public FlightQuery from(String departure) {
+        this.departure = departure;
+        return this;
+    }
+
+    public FlightQuery to(String arrival) {
+        this.arrival = arrival;
+        return this;
+    }
+
+    public FlightQuery airline(String airline) {
+        if (this.airline != null && !this.airline.equalsIgnoreCase(airline)) {
+            contradictory = true;
+        }
+        this.airline = airline;
+        return this;
+    }
+
+    public FlightQuery departingBetween(LocalDate startDate, LocalDate endDate) {
+        if (this.startDate == null || startDate.isAfter(this.startDate)) {
+            this.startDate = startDate;
+        }
+        if (this.endDate == null || endDate.isBefore(this.endDate)) {
+            this.endDate = endDate;
+        }
+        return this;
+    }
+
+    public FlightQuery maxPrice(double maxPrice) {
+        this.maxPrice = this.maxPrice == null ? maxPrice : Math.min(this.maxPrice, maxPrice);
+        return this;
+    }
+
+    public FlightQuery maxDuration(double maxDuration) {
+        this.maxDuration = this.maxDuration == null ? maxDuration : Math.min(this.maxDuration, maxDuration);
+        return this;
+    }
+
+    public FlightQuery copy() {
+        FlightQuery copy = new FlightQuery(database);
+        copy.departure = departure;
+        copy.arrival = arrival;
+        copy.airline = airline;
+        copy.startDate = startDate;
+        copy.endDate = endDate;
+        copy.maxPrice = maxPrice;
+        copy.maxDuration = maxDuration;
+        copy.contradictory = contradictory;
+        return copy;
+    }
+
+    public Stream<Flight> stream() {
+        if (contradictory || (startDate != null && endDate != null && startDate.isAfter(endDate))) {
+            return Stream.empty();
+        }
+        return database.plan(this).filter(this::matches);
+    }
+
+    public List<Flight> list() {
+        return stream().collect(Collectors.toList());
+    }
+
+    boolean matches(Flight flight) {
+        return !contradictory
+            && (departure == null || flight.getDeparture().equalsIgnoreCase(departure))
+            && (arrival == null || flight.getArrival().equalsIgnoreCase(arrival))
+            && (airline == null || flight.getAirline().equalsIgnoreCase(airline))
+            && (startDate == null || !flight.getDepartureDate().isBefore(startDate))
+            && (endDate == null || !flight.getDepartureDate().isAfter(endDate))
+            && (maxPrice == null || flight.getPrice() <= maxPrice)
+            && (maxDuration == null || flight.getDuration() <= maxDuration);
+    }
+
+    String getDeparture() { return departure; }
+    String getArrival() { return arrival; }
+    String getAirline() { return airline; }
+    LocalDate getStartDate() { return startDate; }
+    LocalDate getEndDate() { return endDate; }
+    Double getMaxPrice() { return maxPrice; }
+    Double getMaxDuration() { return maxDuration; }
+}
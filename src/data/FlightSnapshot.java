@@ -0,0 +1,160 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import core.Flight;
+import core.SeatMap;
+
+class FlightSnapshot {
+    private static final int MAGIC = 0x464C5453;
+    private static final int VERSION = 2;
+
+    static boolean isFresh(Path snapshotPath, Path csvPath) {
+        try {
+            return Files.exists(snapshotPath)
+                && Files.getLastModifiedTime(snapshotPath).compareTo(Files.getLastModifiedTime(csvPath)) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static void write(Path path, List<Flight> flights) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> symbols = new ArrayList<>();
+        for (Flight flight : flights) {
+            for (String symbol : new String[]{flight.getDeparture(), flight.getArrival(), flight.getAirline()}) {
+                if (!dictionary.containsKey(symbol)) {
+                    dictionary.put(symbol, symbols.size());
+                    symbols.add(symbol);
+                }
+            }
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(symbols.size());
+            for (String symbol : symbols) {
+                out.writeUTF(symbol);
+            }
+
+            out.writeInt(flights.size());
+            for (Flight flight : flights) {
+                out.writeUTF(flight.getFlightNumber());
+                writeVarInt(out, dictionary.get(flight.getDeparture()));
+                writeVarInt(out, dictionary.get(flight.getArrival()));
+                writeVarInt(out, dictionary.get(flight.getAirline()));
+                out.writeInt((int) flight.getDepartureDate().toEpochDay());
+                out.writeShort(flight.getDepartureTime().getHour() * 60 + flight.getDepartureTime().getMinute());
+                out.writeDouble(flight.getDuration());
+                out.writeDouble(flight.getOriginalPrice());
+
+                if (!flight.hasSeatMap()) {
+                    out.writeBoolean(false);
+                    continue;
+                }
+                out.writeBoolean(true);
+                SeatMap seatMap = flight.getSeatMap();
+                writeVarInt(out, seatMap.getRows());
+                writeVarInt(out, seatMap.getColumns());
+                for (long word : seatMap.toOccupancyBitmap()) {
+                    out.writeLong(word);
+                }
+            }
+        }
+
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    static List<Flight> read(Path path, SymbolTable airports, SymbolTable airlines) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a flight snapshot: " + path);
+            }
+            int version = in.readInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported flight snapshot version " + version);
+            }
+
+            String[] symbols = new String[in.readInt()];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = in.readUTF();
+            }
+            String[] airportSymbols = new String[symbols.length];
+            String[] airlineSymbols = new String[symbols.length];
+
+            int count = in.readInt();
+            List<Flight> flights = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String flightNumber = in.readUTF();
+                String departure = resolve(symbols, airportSymbols, readVarInt(in), airports);
+                String arrival = resolve(symbols, airportSymbols, readVarInt(in), airports);
+                String airline = resolve(symbols, airlineSymbols, readVarInt(in), airlines);
+                LocalDate date = LocalDate.ofEpochDay(in.readInt());
+                int minuteOfDay = in.readShort();
+                LocalTime time = LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+                double duration = in.readDouble();
+                double price = in.readDouble();
+
+                SeatMap seatMap = null;
+                if (version == 1 || in.readBoolean()) {
+                    int rows = readVarInt(in);
+                    int columns = readVarInt(in);
+                    long[] occupancy = new long[(rows * columns + 63) >>> 6];
+                    for (int w = 0; w < occupancy.length; w++) {
+                        occupancy[w] = in.readLong();
+                    }
+                    seatMap = new SeatMap(flightNumber, rows, columns, occupancy);
+                }
+                flights.add(new Flight(flightNumber, departure, arrival, airline, date, time, duration, price, seatMap));
+            }
+            return flights;
+        }
+    }
+
+    private static String resolve(String[] symbols, String[] resolved, int id, SymbolTable table) {
+        if (resolved[id] == null) {
+            resolved[id] = table.intern(symbols[id]);
+        }
+        return resolved[id];
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in flight snapshot");
+    }
+}
@@ -5,132 +5,415 @@ import java.nio.file.*;
 import java.util.*;
 import java.time.LocalDate;
 
+import core.BookingCodec;
 import core.GroupBooking;
+import core.IdGenerator;
 import core.Passenger;
 import ui.ConsoleColors;
 
 public class GroupBookingDatabase {
-    private List<GroupBooking> groupBookings = new ArrayList<>();
+    private final Map<String, GroupBooking> groupBookingsById = new LinkedHashMap<>();
+    private final Map<Passenger, Map<String, GroupBooking>> groupBookingsByPassenger = new HashMap<>();
+    private final Map<String, List<Passenger>> indexedPassengers = new HashMap<>();
+    private final Map<String, byte[]> unresolvedRecords = new LinkedHashMap<>();
     private static final String GROUP_BOOKINGS_FILE = "data/group_bookings.dat";
+    private static final String GROUP_BOOKINGS_JOURNAL_FILE = "data/group_bookings.journal";
+    private static final long COMPACTION_THRESHOLD_BYTES = 1024 * 1024;
+    private static final int SNAPSHOT_MAGIC = 0x47425350;
+    private GroupBookingJournal journal;
     
-    public GroupBookingDatabase() {
+    private static final class InstanceHolder {
+        private static final GroupBookingDatabase INSTANCE = new GroupBookingDatabase();
+    }
+    
+    private GroupBookingDatabase() {
         loadGroupBookings();
     }
     
+    public static GroupBookingDatabase getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+    
     public boolean addGroupBooking(GroupBooking groupBooking) {
-        
-        for (GroupBooking existing : groupBookings) {
-            if (existing.getGroupId().equals(groupBooking.getGroupId())) {
+        long sequence;
+        synchronized (this) {
+            
+            if (groupBookingsById.containsKey(groupBooking.getGroupId())) {
                 return false;
             }
+            
+            index(groupBooking);
+            sequence = persistPut(groupBooking);
         }
-        
-        groupBookings.add(groupBooking);
-        saveGroupBookings();
+        awaitDurable(sequence);
         return true;
     }
     
     public boolean removeGroupBooking(String groupId) {
-        for (Iterator<GroupBooking> it = groupBookings.iterator(); it.hasNext();) {
-            GroupBooking booking = it.next();
-            if (booking.getGroupId().equals(groupId)) {
-                it.remove();
-                saveGroupBookings();
-                return true;
+        long sequence;
+        synchronized (this) {
+            if (unindex(groupId) == null) {
+                return false;
             }
+            sequence = persistRemove(groupId);
         }
-        return false;
+        awaitDurable(sequence);
+        return true;
+    }
+    
+    public synchronized GroupBooking getGroupBookingById(String groupId) {
+        return groupBookingsById.get(groupId);
+    }
+    
+    public synchronized List<GroupBooking> getGroupBookingsForPassenger(Passenger passenger) {
+        Map<String, GroupBooking> groups = groupBookingsByPassenger.get(passenger);
+        return groups == null ? new ArrayList<>() : new ArrayList<>(groups.values());
     }
     
-    public GroupBooking getGroupBookingById(String groupId) {
-        for (GroupBooking booking : groupBookings) {
-            if (booking.getGroupId().equals(groupId)) {
-                return booking;
+    public synchronized List<GroupBooking> getAllGroupBookings() {
+        return new ArrayList<>(groupBookingsById.values());
+    }
+    
+    private void index(GroupBooking groupBooking) {
+        String groupId = groupBooking.getGroupId();
+        if (groupBookingsById.containsKey(groupId)) {
+            unindexPassengers(groupId);
+        }
+        groupBookingsById.put(groupId, groupBooking);
+        
+        List<Passenger> passengers = groupBooking.getPassengers();
+        for (Passenger passenger : passengers) {
+            groupBookingsByPassenger.computeIfAbsent(passenger, k -> new LinkedHashMap<>()).put(groupId, groupBooking);
+        }
+        indexedPassengers.put(groupId, passengers);
+    }
+    
+    private GroupBooking unindex(String groupId) {
+        GroupBooking removed = groupBookingsById.remove(groupId);
+        if (removed != null) {
+            unindexPassengers(groupId);
+        }
+        return removed;
+    }
+    
+    private void unindexPassengers(String groupId) {
+        List<Passenger> passengers = indexedPassengers.remove(groupId);
+        if (passengers == null) {
+            return;
+        }
+        for (Passenger passenger : passengers) {
+            Map<String, GroupBooking> groups = groupBookingsByPassenger.get(passenger);
+            if (groups != null) {
+                groups.remove(groupId);
+                if (groups.isEmpty()) {
+                    groupBookingsByPassenger.remove(passenger);
+                }
             }
         }
-        return null;
     }
     
-    public List<GroupBooking> getGroupBookingsForPassenger(Passenger passenger) {
-        List<GroupBooking> result = new ArrayList<>();
-        for (GroupBooking booking : groupBookings) {
-            if (booking.getPassengers().contains(passenger)) {
-                result.add(booking);
+    public String generateGroupId() {
+        return IdGenerator.shared().nextId("GRP-");
+    }
+    
+    public boolean updateGroupBooking(GroupBooking groupBooking) {
+        long sequence;
+        synchronized (this) {
+            
+            if (!groupBookingsById.containsKey(groupBooking.getGroupId())) {
+                return false;
             }
+            
+            index(groupBooking);
+            sequence = persistPut(groupBooking);
         }
-        return result;
+        awaitDurable(sequence);
+        return true;
     }
     
-    public List<GroupBooking> getAllGroupBookings() {
-        return new ArrayList<>(groupBookings);
+    private long persistPut(GroupBooking groupBooking) {
+        try {
+            return persist(GroupBookingJournal.PUT, BookingCodec.encode(groupBooking));
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.RED + "Error saving group bookings: " + e.getMessage() + ConsoleColors.RESET);
+            return 0;
+        }
     }
     
-    public String generateGroupId() {
-        String prefix = "GRP-";
-        Random random = new Random();
-        String groupId;
+    private long persistRemove(String groupId) {
+        try {
+            return persist(GroupBookingJournal.REMOVE, GroupBookingJournal.encodeRemove(groupId));
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.RED + "Error saving group bookings: " + e.getMessage() + ConsoleColors.RESET);
+            return 0;
+        }
+    }
+    
+    private long persist(byte type, byte[] payload) throws IOException {
+        if (journal == null) {
+            saveSnapshotWithoutJournal();
+            return 0;
+        }
         
-        do {
-            StringBuilder idBuilder = new StringBuilder(prefix);
-            for (int i = 0; i < 6; i++) {
-                idBuilder.append(random.nextInt(10));
-            }
-            groupId = idBuilder.toString();
-        } while (getGroupBookingById(groupId) != null);
+        long sequence;
+        try {
+            sequence = journal.append(type, payload);
+        } catch (IOException e) {
+            fallBackToSnapshot(e);
+            return 0;
+        }
         
-        return groupId;
+        if (journal.size() > COMPACTION_THRESHOLD_BYTES) {
+            compact();
+        }
+        return sequence;
     }
     
-    public boolean updateGroupBooking(GroupBooking groupBooking) {
+    private void awaitDurable(long sequence) {
+        if (sequence == 0) {
+            return;
+        }
+        GroupBookingJournal current;
+        synchronized (this) {
+            current = journal;
+        }
+        if (current == null) {
+            return;
+        }
         
-        boolean found = false;
-        for (int i = 0; i < groupBookings.size(); i++) {
-            if (groupBookings.get(i).getGroupId().equals(groupBooking.getGroupId())) {
-                groupBookings.set(i, groupBooking);
-                found = true;
-                break;
+        try {
+            current.awaitFlush(sequence);
+            System.out.println(ConsoleColors.GREEN + "Group bookings saved successfully." + ConsoleColors.RESET);
+        } catch (IOException e) {
+            synchronized (this) {
+                if (journal != current) {
+                    return;
+                }
+                try {
+                    fallBackToSnapshot(e);
+                } catch (IOException snapshotFailure) {
+                    System.err.println(ConsoleColors.RED + "Error saving group bookings: " + snapshotFailure.getMessage() + ConsoleColors.RESET);
+                }
             }
         }
-        
-        if (!found) {
-            return false;
+    }
+    
+    private void fallBackToSnapshot(IOException cause) throws IOException {
+        System.err.println(ConsoleColors.YELLOW + "Group booking journal unavailable, writing full snapshot: " + cause.getMessage() + ConsoleColors.RESET);
+        abandonJournal();
+        saveSnapshotWithoutJournal();
+    }
+    
+    private void abandonJournal() {
+        GroupBookingJournal failed = journal;
+        journal = null;
+        if (failed != null) {
+            try {
+                failed.abandon();
+            } catch (IOException e) {
+                System.err.println(ConsoleColors.RED + "Error closing group booking journal: " + e.getMessage() + ConsoleColors.RESET);
+            }
         }
+    }
+    
+    private void saveSnapshotWithoutJournal() throws IOException {
+        saveGroupBookings();
         
-        
+        Files.deleteIfExists(Paths.get(GROUP_BOOKINGS_JOURNAL_FILE));
+    }
+    
+    private void compact() throws IOException {
         saveGroupBookings();
-        return true;
+        if (journal != null) {
+            journal.truncate();
+        }
     }
     
-    private void saveGroupBookings() {
+    private void saveGroupBookings() throws IOException {
+        Path path = Paths.get(GROUP_BOOKINGS_FILE);
+        Files.createDirectories(path.getParent());
+        
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tempPath.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(groupBookingsById.size() + unresolvedRecords.size());
+            for (GroupBooking groupBooking : groupBookingsById.values()) {
+                BookingCodec.writeGroupBooking(out, groupBooking);
+            }
+            for (byte[] record : unresolvedRecords.values()) {
+                out.write(record);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
         try {
-            
-            Files.createDirectories(Paths.get("data"));
-            
-            
-            try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(GROUP_BOOKINGS_FILE))) {
-                oos.writeObject(groupBookings);
-                System.out.println(ConsoleColors.GREEN + "Group bookings saved successfully." + ConsoleColors.RESET);
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    private static GroupBooking deserialize(byte[] payload) throws IOException {
+        if (!isJavaSerialized(payload)) {
+            return BookingCodec.decodeGroupBooking(payload);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+            return (GroupBooking) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unreadable group booking record", e);
+        }
+    }
+    
+    private static boolean isJavaSerialized(byte[] header) {
+        return header.length >= 2 && (header[0] & 0xFF) == 0xAC && (header[1] & 0xFF) == 0xED;
+    }
+    
+    private void replayRecord(byte type, byte[] payload) throws IOException {
+        if (type == GroupBookingJournal.PUT) {
+            GroupBooking groupBooking = deserialize(payload);
+            if (groupBooking == null) {
+                keepUnresolved(BookingCodec.readGroupId(payload), payload);
+                return;
+            }
+            unresolvedRecords.remove(groupBooking.getGroupId());
+            GroupBooking existing = groupBookingsById.get(groupBooking.getGroupId());
+            if (existing != null) {
+                releaseSeatsNotHeldBy(existing, groupBooking);
+            }
+            index(groupBooking);
+        } else if (type == GroupBookingJournal.REMOVE) {
+            String groupId = GroupBookingJournal.decodeRemove(payload);
+            unresolvedRecords.remove(groupId);
+            GroupBooking existing = unindex(groupId);
+            if (existing != null) {
+                releaseSeatsNotHeldBy(existing, null);
+            }
+        } else {
+            throw new IOException("Unknown group booking journal record type " + type);
+        }
+    }
+    
+    private void keepUnresolved(String groupId, byte[] record) {
+        System.err.println(ConsoleColors.YELLOW + "Skipping group booking " + groupId + ": its flight is not loaded. The record is kept on disk." + ConsoleColors.RESET);
+        unresolvedRecords.put(groupId, record);
+    }
+    
+    private static void releaseSeatsNotHeldBy(GroupBooking previous, GroupBooking current) {
+        Collection<String> kept = current != null && current.getFlight() == previous.getFlight()
+            ? current.getAllSeatAssignments().values() : Collections.emptySet();
+        for (String seatCode : previous.getAllSeatAssignments().values()) {
+            if (!kept.contains(seatCode)) {
+                previous.getFlight().getSeatMap().releaseSeat(seatCode);
             }
-        } catch (IOException e) {
-            System.err.println(ConsoleColors.RED + "Error saving group bookings: " + e.getMessage() + ConsoleColors.RESET);
         }
     }
     
-    @SuppressWarnings("unchecked")
     private void loadGroupBookings() {
+        
+        FlightDatabase.getInstance();
+        
         File file = new File(GROUP_BOOKINGS_FILE);
         if (!file.exists()) {
             System.out.println("No group bookings file found. Starting with empty database.");
-            return;
+        } else {
+            try {
+                List<GroupBooking> loaded = readSnapshot(file);
+                for (GroupBooking groupBooking : loaded) {
+                    index(groupBooking);
+                }
+                System.out.println(ConsoleColors.GREEN + "Loaded " + loaded.size() + " group bookings." + ConsoleColors.RESET);
+            } catch (IOException e) {
+                System.err.println(ConsoleColors.RED + "Error loading group bookings: " + e.getMessage() + ConsoleColors.RESET);
+                
+                groupBookingsById.clear();
+                groupBookingsByPassenger.clear();
+                indexedPassengers.clear();
+                unresolvedRecords.clear();
+                preserveUnreadableSnapshot(file);
+            }
         }
         
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(GROUP_BOOKINGS_FILE))) {
-            groupBookings = (List<GroupBooking>) ois.readObject();
-            System.out.println(ConsoleColors.GREEN + "Loaded " + groupBookings.size() + " group bookings." + ConsoleColors.RESET);
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println(ConsoleColors.RED + "Error loading group bookings: " + e.getMessage() + ConsoleColors.RESET);
+        try {
+            journal = new GroupBookingJournal(Paths.get(GROUP_BOOKINGS_JOURNAL_FILE));
+            int replayed = journal.replay(this::replayRecord);
+            if (replayed > 0) {
+                System.out.println(ConsoleColors.GREEN + "Replayed " + replayed + " group booking changes from journal." + ConsoleColors.RESET);
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.RED + "Error opening group booking journal: " + e.getMessage() + ConsoleColors.RESET);
+            abandonJournal();
+            try {
+                saveSnapshotWithoutJournal();
+            } catch (IOException snapshotFailure) {
+                System.err.println(ConsoleColors.RED + "Error saving group bookings: " + snapshotFailure.getMessage() + ConsoleColors.RESET);
+            }
+        }
+    }
+    
+    private static void preserveUnreadableSnapshot(File file) {
+        Path path = file.toPath();
+        Path preserved = path.resolveSibling(path.getFileName() + ".unreadable-" + System.currentTimeMillis());
+        try {
+            Files.move(path, preserved);
+            System.err.println(ConsoleColors.YELLOW + "Unreadable group bookings file kept as " + preserved + ConsoleColors.RESET);
+        } catch (IOException e) {
+            System.err.println(ConsoleColors.RED + "Could not preserve unreadable group bookings file: " + e.getMessage() + ConsoleColors.RESET);
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<GroupBooking> readSnapshot(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            in.mark(2);
+            byte[] header = new byte[2];
+            in.readFully(header);
+            in.reset();
+            if (isJavaSerialized(header)) {
+                try (ObjectInputStream ois = new ObjectInputStream(in)) {
+                    return (List<GroupBooking>) ois.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Unreadable group bookings file", e);
+                }
+            }
             
-            groupBookings = new ArrayList<>();
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a group bookings file: " + file);
+            }
+            int count = in.readInt();
+            List<GroupBooking> groupBookings = new ArrayList<>(count);
+            ByteArrayOutputStream record = new ByteArrayOutputStream();
+            DataInputStream recordIn = new DataInputStream(new FilterInputStream(in) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        record.write(b);
+                    }
+                    return b;
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read > 0) {
+                        record.write(buffer, offset, read);
+                    }
+                    return read;
+                }
+            });
+            for (int i = 0; i < count; i++) {
+                record.reset();
+                GroupBooking groupBooking = BookingCodec.readGroupBooking(recordIn);
+                if (groupBooking == null) {
+                    byte[] raw = record.toByteArray();
+                    keepUnresolved(BookingCodec.readGroupId(raw), raw);
+                } else {
+                    groupBookings.add(groupBooking);
+                }
+            }
+            return groupBookings;
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,215 @@
+package data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+class GroupBookingJournal implements AutoCloseable {
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    private static final int HEADER_SIZE = 9;
+
+    interface Replayer {
+        void apply(byte type, byte[] payload) throws IOException;
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final Thread flusher;
+    private long writtenSequence;
+    private long flushedSequence;
+    private IOException flushFailure;
+    private volatile boolean closed;
+
+    GroupBookingJournal(Path path) throws IOException {
+        this.path = path;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.flusher = new Thread(this::flushLoop, "group-booking-journal");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    synchronized int replay(Replayer replayer) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        long position = 0;
+        long size = channel.size();
+        int records = 0;
+        while (position + HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            byte type = header.get();
+            if (length < 0 || position + HEADER_SIZE + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_SIZE);
+            if (checksum(type, payload.array()) != checksum) {
+                break;
+            }
+            replayer.apply(type, payload.array());
+            position += HEADER_SIZE + length;
+            records++;
+        }
+        if (position < size) {
+            System.err.println("Discarding " + (size - position) + " bytes of incomplete group booking journal");
+            channel.truncate(position);
+        }
+        channel.position(position);
+        return records;
+    }
+
+    synchronized long append(byte type, byte[] payload) throws IOException {
+        ensureOpen();
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+        record.putInt(payload.length);
+        record.putInt(checksum(type, payload));
+        record.put(type);
+        record.put(payload);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        notifyAll();
+        return ++writtenSequence;
+    }
+
+    synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    synchronized void truncate() throws IOException {
+        ensureOpen();
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    static byte[] encodeRemove(String groupId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(groupId);
+        }
+        return bytes.toByteArray();
+    }
+
+    static String decodeRemove(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            return in.readUTF();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        flusher.interrupt();
+        synchronized (this) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    void abandon() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        flusher.interrupt();
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    synchronized void awaitFlush(long sequence) throws IOException {
+        boolean interrupted = false;
+        while (flushedSequence < sequence && flushFailure == null && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            synchronized (this) {
+                while (writtenSequence == flushedSequence && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        if (closed) {
+                            return;
+                        }
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                target = writtenSequence;
+            }
+            try {
+                channel.force(false);
+                synchronized (this) {
+                    flushedSequence = target;
+                    notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (this) {
+                    flushFailure = e;
+                    notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Group booking journal is closed: " + path);
+        }
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Unexpected end of group booking journal");
+            }
+        }
+    }
+
+    private static int checksum(byte type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
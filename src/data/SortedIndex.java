@@ -0,0 +1,107 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import core.Flight;
+
+class SortedIndex<K extends Comparable<? super K>> {
+    private final NavigableMap<K, List<Flight>> buckets = new TreeMap<>();
+    private int size;
+
+    void add(K key, Flight flight) {
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(flight);
+        size++;
+    }
+
+    boolean remove(K key, Flight flight) {
+        List<Flight> bucket = buckets.get(key);
+        if (bucket == null) {
+            return false;
+        }
+        for (Iterator<Flight> it = bucket.iterator(); it.hasNext();) {
+            if (it.next() == flight) {
+                it.remove();
+                size--;
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    List<Flight> range(K from, K to) {
+        return collect(rangeView(from, to));
+    }
+
+    List<Flight> upTo(K max) {
+        return collect(buckets.headMap(max, true));
+    }
+
+    Stream<Flight> streamRange(K from, K to) {
+        return rangeView(from, to).values().stream().flatMap(List::stream);
+    }
+
+    Stream<Flight> streamUpTo(K max) {
+        return buckets.headMap(max, true).values().stream().flatMap(List::stream);
+    }
+
+    int countRange(K from, K to, int limit) {
+        return count(rangeView(from, to), limit);
+    }
+
+    int countUpTo(K max, int limit) {
+        return count(buckets.headMap(max, true), limit);
+    }
+
+    private NavigableMap<K, List<Flight>> rangeView(K from, K to) {
+        if (from.compareTo(to) > 0) {
+            return Collections.emptyNavigableMap();
+        }
+        return buckets.subMap(from, true, to, true);
+    }
+
+    private static List<Flight> collect(Map<?, List<Flight>> view) {
+        List<Flight> results = new ArrayList<>();
+        for (List<Flight> bucket : view.values()) {
+            results.addAll(bucket);
+        }
+        return results;
+    }
+
+    private static int count(Map<?, List<Flight>> view, int limit) {
+        int count = 0;
+        for (List<Flight> bucket : view.values()) {
+            count += bucket.size();
+            if (count > limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    List<Flight> first(int k) {
+        List<Flight> results = new ArrayList<>(Math.min(Math.max(k, 0), size));
+        for (List<Flight> bucket : buckets.values()) {
+            for (Flight flight : bucket) {
+                if (results.size() >= k) {
+                    return results;
+                }
+                results.add(flight);
+            }
+        }
+        return results;
+    }
+
+    int size() {
+        return size;
+    }
+}
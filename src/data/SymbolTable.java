@@ -0,0 +1,53 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class SymbolTable {
+    private final Map<String, Symbol> symbolsByValue = new ConcurrentHashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    private static final class Symbol {
+        private final int id;
+        private final String value;
+
+        Symbol(int id, String value) {
+            this.id = id;
+            this.value = value;
+        }
+    }
+
+    String intern(String value) {
+        return lookup(value).value;
+    }
+
+    int id(String value) {
+        return lookup(value).id;
+    }
+
+    synchronized String valueOf(int id) {
+        return values.get(id);
+    }
+
+    synchronized int size() {
+        return values.size();
+    }
+
+    private Symbol lookup(String value) {
+        Symbol symbol = symbolsByValue.get(value);
+        if (symbol != null) {
+            return symbol;
+        }
+        synchronized (this) {
+            symbol = symbolsByValue.get(value);
+            if (symbol == null) {
+                symbol = new Symbol(values.size(), value);
+                values.add(value);
+                symbolsByValue.put(value, symbol);
+            }
+            return symbol;
+        }
+    }
+}
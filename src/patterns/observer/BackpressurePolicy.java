@@ -0,0 +1,7 @@
+package patterns.observer;
+
+public enum BackpressurePolicy {
+    BLOCK,
+    DROP_NEWEST,
+    CALLER_RUNS
+}
@@ -0,0 +1,199 @@
+package patterns.observer;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+public class EventBus {
+    private static final int DEFAULT_SHARDS = 2;
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final int BATCH_SIZE = 64;
+    private static final long MAX_IDLE_PARK_NANOS = 1_000_000;
+    private static final EventBus SHARED = new EventBus("event-bus", DEFAULT_SHARDS, DEFAULT_CAPACITY, defaultPolicy());
+
+    private final Shard[] shards;
+    private final BackpressurePolicy policy;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private static final class Event {
+        private final Iterable<? extends Observer> observers;
+        private final Supplier<String> message;
+
+        Event(Iterable<? extends Observer> observers, Supplier<String> message) {
+            this.observers = observers;
+            this.message = message;
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final AtomicReferenceArray<Event> slots;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+        private final Thread consumer;
+        private volatile boolean parked;
+
+        Shard(String name, int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.sequences = new AtomicLongArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+            this.mask = capacity - 1;
+            this.consumer = new Thread(this, name);
+            this.consumer.setDaemon(true);
+        }
+
+        boolean offer(Event event) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) (position & mask);
+                long diff = sequences.get(index) - position;
+                if (diff == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        slots.set(index, event);
+                        sequences.set(index, position + 1);
+                        if (parked) {
+                            LockSupport.unpark(consumer);
+                        }
+                        return true;
+                    }
+                } else if (diff < 0) {
+                    return false;
+                }
+            }
+        }
+
+        private Event poll() {
+            long position = head.get();
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                return null;
+            }
+            Event event = slots.get(index);
+            slots.set(index, null);
+            head.set(position + 1);
+            sequences.set(index, position + mask + 1);
+            return event;
+        }
+
+        @Override
+        public void run() {
+            long idleNanos = 1_000;
+            while (!Thread.currentThread().isInterrupted()) {
+                int drained = 0;
+                Event event;
+                while (drained < BATCH_SIZE && (event = poll()) != null) {
+                    deliver(event);
+                    drained++;
+                }
+                if (drained > 0) {
+                    idleNanos = 1_000;
+                    continue;
+                }
+                parked = true;
+                if (head.get() == tail.get()) {
+                    if (idleNanos < MAX_IDLE_PARK_NANOS) {
+                        LockSupport.parkNanos(this, idleNanos);
+                        idleNanos *= 2;
+                    } else {
+                        LockSupport.park(this);
+                    }
+                }
+                parked = false;
+            }
+        }
+    }
+
+    public EventBus(String name, int shardCount, int capacity, BackpressurePolicy policy) {
+        if (shardCount <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Shard count and capacity must be positive");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.policy = policy;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(name + "-" + i, Math.max(2, size));
+            shards[i].consumer.start();
+        }
+    }
+
+    public static EventBus shared() {
+        return SHARED;
+    }
+
+    public boolean publish(Object key, Iterable<? extends Observer> observers, Supplier<String> message) {
+        published.incrementAndGet();
+        Event event = new Event(observers, message);
+        Shard shard = shards[(spread(key) & Integer.MAX_VALUE) % shards.length];
+        if (shard.offer(event)) {
+            return true;
+        }
+
+        switch (policy) {
+            case DROP_NEWEST:
+                dropped.incrementAndGet();
+                return false;
+            case CALLER_RUNS:
+                deliver(event);
+                return true;
+            default:
+                long backoffNanos = 1_000;
+                while (!shard.offer(event)) {
+                    LockSupport.parkNanos(backoffNanos);
+                    backoffNanos = Math.min(backoffNanos * 2, MAX_IDLE_PARK_NANOS);
+                }
+                return true;
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void deliver(Event event) {
+        String message = null;
+        for (Observer observer : event.observers) {
+            if (message == null) {
+                message = event.message.get();
+            }
+            try {
+                observer.update(message);
+            } catch (RuntimeException e) {
+                System.err.println("Observer failed to handle event: " + e.getMessage());
+            }
+        }
+        delivered.incrementAndGet();
+    }
+
+    private static int spread(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static BackpressurePolicy defaultPolicy() {
+        String configured = System.getProperty("flightbooking.eventBus.backpressure");
+        if (configured != null) {
+            try {
+                return BackpressurePolicy.valueOf(configured.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring unknown event bus backpressure policy: " + configured);
+            }
+        }
+        return BackpressurePolicy.BLOCK;
+    }
+}
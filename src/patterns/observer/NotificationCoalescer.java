@@ -0,0 +1,77 @@
+package patterns.observer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class NotificationCoalescer {
+    private static final long DEFAULT_WINDOW_MILLIS = 500;
+    private static final NotificationCoalescer STATUS_UPDATES = new NotificationCoalescer(
+        EventBus.shared(), Long.getLong("flightbooking.statusCoalesceMillis", DEFAULT_WINDOW_MILLIS));
+
+    private final EventBus bus;
+    private final long windowMillis;
+    private final Map<Object, Pending> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+
+    private static final class Pending {
+        private final Iterable<? extends Observer> observers;
+        private final Supplier<String> message;
+
+        Pending(Iterable<? extends Observer> observers, Supplier<String> message) {
+            this.observers = observers;
+            this.message = message;
+        }
+    }
+
+    public NotificationCoalescer(EventBus bus, long windowMillis) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Coalescing window must not be negative");
+        }
+        this.bus = bus;
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static NotificationCoalescer statusUpdates() {
+        return STATUS_UPDATES;
+    }
+
+    public void submit(Object key, Iterable<? extends Observer> observers, Supplier<String> message) {
+        submitted.incrementAndGet();
+        if (windowMillis == 0) {
+            flushed.incrementAndGet();
+            bus.publish(key, observers, message);
+            return;
+        }
+        if (pending.put(key, new Pending(observers, message)) == null) {
+            scheduler.schedule(() -> flush(key), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(Object key) {
+        Pending latest = pending.remove(key);
+        if (latest != null) {
+            flushed.incrementAndGet();
+            bus.publish(key, latest.observers, latest.message);
+        }
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getFlushedCount() {
+        return flushed.get();
+    }
+}
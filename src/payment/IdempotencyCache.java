@@ -0,0 +1,63 @@
+package payment;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+class IdempotencyCache {
+    private final int capacity;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, false);
+
+    private static final class Entry {
+        private final CompletableFuture<PaymentResult> result;
+        private final long createdAt;
+
+        Entry(CompletableFuture<PaymentResult> result, long createdAt) {
+            this.result = result;
+            this.createdAt = createdAt;
+        }
+    }
+
+    IdempotencyCache(int capacity, long ttlNanos) {
+        this.capacity = capacity;
+        this.ttlNanos = ttlNanos;
+    }
+
+    synchronized CompletableFuture<PaymentResult> putIfAbsent(String key, CompletableFuture<PaymentResult> result) {
+        long now = System.nanoTime();
+        evictExpired(now);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing.result;
+        }
+        entries.put(key, new Entry(result, now));
+        if (entries.size() > capacity) {
+            Iterator<Entry> eldest = entries.values().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+        return null;
+    }
+
+    synchronized void remove(String key, CompletableFuture<PaymentResult> result) {
+        Entry existing = entries.get(key);
+        if (existing != null && existing.result == result) {
+            entries.remove(key);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        for (Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator(); it.hasNext();) {
+            if (now - it.next().getValue().createdAt < ttlNanos) {
+                break;
+            }
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package payment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import core.IdGenerator;
+
+public class LocalGatewayStub implements PaymentGateway {
+    private static final long DEFAULT_LATENCY_MILLIS = 1500;
+    private static final double DEFAULT_FAILURE_RATE = 0.10;
+
+    private final long latencyMillis;
+    private final double failureRate;
+    private final ScheduledExecutorService scheduler;
+
+    public LocalGatewayStub() {
+        this(Long.getLong("payment.latencyMillis", DEFAULT_LATENCY_MILLIS),
+             doubleProperty("payment.failureRate", DEFAULT_FAILURE_RATE));
+    }
+
+    public LocalGatewayStub(long latencyMillis, double failureRate) {
+        if (latencyMillis < 0 || failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Latency must be non-negative and failure rate between 0 and 1");
+        }
+        this.latencyMillis = latencyMillis;
+        this.failureRate = failureRate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-gateway-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> charge(double amount, String description) {
+        CompletableFuture<PaymentResult> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(decide(amount)), latencyMillis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Override
+    public CompletableFuture<List<PaymentResult>> settle(List<PaymentRequest> batch) {
+        CompletableFuture<List<PaymentResult>> future = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            List<PaymentResult> results = new ArrayList<>(batch.size());
+            for (PaymentRequest request : batch) {
+                results.add(decide(request.getAmount()));
+            }
+            future.complete(results);
+        }, latencyMillis, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private PaymentResult decide(double amount) {
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return PaymentResult.declined(amount, "Payment declined by gateway");
+        }
+        return PaymentResult.approved(IdGenerator.shared().nextId("RCT-"), amount);
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Ignoring invalid " + name + ": " + value);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package payment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface PaymentGateway {
+    CompletableFuture<PaymentResult> charge(double amount, String description);
+
+    default CompletableFuture<List<PaymentResult>> settle(List<PaymentRequest> batch) {
+        List<CompletableFuture<PaymentResult>> charges = new ArrayList<>(batch.size());
+        for (PaymentRequest request : batch) {
+            charges.add(charge(request.getAmount(), request.getDescription()));
+        }
+        return CompletableFuture.allOf(charges.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<PaymentResult> results = new ArrayList<>(charges.size());
+            for (CompletableFuture<PaymentResult> charge : charges) {
+                results.add(charge.join());
+            }
+            return results;
+        });
+    }
+}
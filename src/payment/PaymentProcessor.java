@@ -1,94 +1,72 @@
 package payment;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BooleanSupplier;
 
 import core.Booking;
+import core.IdGenerator;
 import ui.ConsoleColors;
 
 public class PaymentProcessor {
     private Scanner scanner;
+    private final SettlementEngine settlementEngine;
     
     public PaymentProcessor(Scanner scanner) {
+        this(scanner, new LocalGatewayStub());
+    }
+    
+    public PaymentProcessor(PaymentGateway gateway) {
+        this(null, gateway);
+    }
+    
+    public PaymentProcessor(Scanner scanner, PaymentGateway gateway) {
         this.scanner = scanner;
+        this.settlementEngine = new SettlementEngine(gateway);
     }
     
     public boolean processPayment(double amount, Booking booking) {
-        System.out.println(ConsoleColors.CYAN + "\n--- Payment Processing ---" + ConsoleColors.RESET);
-        System.out.println("Total amount to pay: $" + String.format("%.2f", amount));
-        
-        
-        System.out.println("\nSelect payment method:");
-        System.out.println("1. Credit Card");
-        System.out.println("2. PayPal");
-        System.out.println("3. Bank Transfer");
-        System.out.print("Choose an option: ");
-        
-        int paymentMethodChoice;
-        try {
-            paymentMethodChoice = scanner.nextInt();
-            scanner.nextLine(); 
-        } catch (Exception e) {
-            System.out.println(ConsoleColors.RED + "Invalid input. Defaulting to Credit Card." + ConsoleColors.RESET);
-            scanner.nextLine(); 
-            paymentMethodChoice = 1;
-        }
-        
-        String paymentMethod;
-        switch (paymentMethodChoice) {
-            case 2: paymentMethod = "PayPal"; break;
-            case 3: paymentMethod = "Bank Transfer"; break;
-            default: paymentMethod = "Credit Card";
-        }
-        
-        System.out.println("Selected payment method: " + paymentMethod);
-        
-        
-        if (paymentMethod.equals("Credit Card")) {
-            if (!collectCreditCardDetails()) {
-                return false;
-            }
-        } else if (paymentMethod.equals("PayPal")) {
-            if (!collectPayPalDetails()) {
-                return false;
-            }
-        } else { 
-            if (!collectBankDetails()) {
-                return false;
-            }
-        }
-        
-        
-        System.out.println(ConsoleColors.YELLOW + "Processing payment..." + ConsoleColors.RESET);
-        
-        
-        try {
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
-        
-        boolean success = new Random().nextInt(100) < 90;
-        
-        if (success) {
-            String receiptNumber = generateReceiptNumber();
-            System.out.println(ConsoleColors.GREEN + "Payment successful!" + ConsoleColors.RESET);
-            System.out.println("Receipt number: " + receiptNumber);
-            if (booking != null) {
-                System.out.println("Booking confirmed for: " + booking.getDescription());
-            }
-            System.out.println("Thank you for your purchase!");
-            return true;
-        } else {
-            System.out.println(ConsoleColors.RED + "Payment failed. Please try again." + ConsoleColors.RESET);
-            return false;
-        }
+        return processPaymentAsync(amount, booking).join().isSuccessful();
     }
     
     public boolean processPayment(double amount, String description) {
+        return processPaymentAsync(amount, description).join().isSuccessful();
+    }
+    
+    public CompletableFuture<PaymentResult> processPaymentAsync(double amount, Booking booking) {
+        return processPaymentAsync(amount, booking, null);
+    }
+    
+    public CompletableFuture<PaymentResult> processPaymentAsync(double amount, Booking booking, BooleanSupplier beforeCharge) {
+        String description = booking != null ? booking.getDescription() : null;
+        return checkout(amount, description, description != null ? "Booking confirmed for: " + description : null, beforeCharge);
+    }
+    
+    public CompletableFuture<PaymentResult> processPaymentAsync(double amount, String description) {
+        return checkout(amount, description, description != null ? "Payment for: " + description : null, null);
+    }
+    
+    public CompletableFuture<PaymentResult> submit(PaymentRequest request) {
+        String error = PaymentValidator.validate(request, LocalDate.now());
+        if (error != null) {
+            return CompletableFuture.completedFuture(PaymentResult.declined(request.getAmount(), error));
+        }
+        return settlementEngine.submit(request)
+            .exceptionally(failure -> PaymentResult.declined(request.getAmount(), "Payment could not be completed: " + describe(failure)));
+    }
+    
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+    
+    public PaymentResult process(PaymentRequest request) {
+        return submit(request).join();
+    }
+    
+    private CompletableFuture<PaymentResult> checkout(double amount, String description, String confirmationLine, BooleanSupplier beforeCharge) {
         System.out.println(ConsoleColors.CYAN + "\n--- Payment Processing ---" + ConsoleColors.RESET);
         System.out.println("Total amount to pay: $" + String.format("%.2f", amount));
         
@@ -109,97 +87,80 @@ public class PaymentProcessor {
             paymentMethodChoice = 1;
         }
         
-        String paymentMethod;
+        PaymentRequest.Method paymentMethod;
         switch (paymentMethodChoice) {
-            case 2: paymentMethod = "PayPal"; break;
-            case 3: paymentMethod = "Bank Transfer"; break;
-            default: paymentMethod = "Credit Card";
+            case 2: paymentMethod = PaymentRequest.Method.PAYPAL; break;
+            case 3: paymentMethod = PaymentRequest.Method.BANK_TRANSFER; break;
+            default: paymentMethod = PaymentRequest.Method.CREDIT_CARD;
         }
         
-        System.out.println("Selected payment method: " + paymentMethod);
+        System.out.println("Selected payment method: " + paymentMethod.getDisplayName());
         
         
-        if (paymentMethod.equals("Credit Card")) {
-            if (!collectCreditCardDetails()) {
-                return false;
-            }
-        } else if (paymentMethod.equals("PayPal")) {
-            if (!collectPayPalDetails()) {
-                return false;
-            }
+        PaymentRequest request;
+        if (paymentMethod == PaymentRequest.Method.CREDIT_CARD) {
+            request = collectCreditCardDetails(amount, description);
+        } else if (paymentMethod == PaymentRequest.Method.PAYPAL) {
+            request = collectPayPalDetails(amount, description);
         } else { 
-            if (!collectBankDetails()) {
-                return false;
-            }
+            request = collectBankDetails(amount, description);
         }
-        
-        
-        System.out.println(ConsoleColors.YELLOW + "Processing payment..." + ConsoleColors.RESET);
-        
-        
-        try {
-            Thread.sleep(1500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        if (request == null) {
+            return CompletableFuture.completedFuture(PaymentResult.declined(amount, "Invalid payment details"));
         }
+        if (beforeCharge != null && !beforeCharge.getAsBoolean()) {
+            System.out.println(ConsoleColors.RED + "Your reservation is no longer available. No payment was taken." + ConsoleColors.RESET);
+            return CompletableFuture.completedFuture(PaymentResult.declined(amount, "Reservation no longer available"));
+        }
+        request = request.withIdempotencyKey(IdGenerator.shared().nextId("PAY-"));
         
         
-        boolean success = new Random().nextInt(100) < 90;
+        System.out.println(ConsoleColors.YELLOW + "Processing payment..." + ConsoleColors.RESET);
         
-        if (success) {
-            String receiptNumber = generateReceiptNumber();
-            System.out.println(ConsoleColors.GREEN + "Payment successful!" + ConsoleColors.RESET);
-            System.out.println("Receipt number: " + receiptNumber);
-            if (description != null) {
-                System.out.println("Payment for: " + description);
+        return submit(request).thenApply(result -> {
+            if (result.isSuccessful()) {
+                System.out.println(ConsoleColors.GREEN + "Payment successful!" + ConsoleColors.RESET);
+                System.out.println("Receipt number: " + result.getReceiptNumber());
+                if (confirmationLine != null) {
+                    System.out.println(confirmationLine);
+                }
+                System.out.println("Thank you for your purchase!");
+            } else {
+                System.out.println(ConsoleColors.RED + "Payment failed. Please try again." + ConsoleColors.RESET);
             }
-            System.out.println("Thank you for your purchase!");
-            return true;
-        } else {
-            System.out.println(ConsoleColors.RED + "Payment failed. Please try again." + ConsoleColors.RESET);
-            return false;
-        }
+            return result;
+        });
     }
     
-    private boolean collectCreditCardDetails() {
+    private PaymentRequest collectCreditCardDetails(double amount, String description) {
         System.out.print("Enter credit card number (16 digits): ");
-        String cardNumber = scanner.nextLine().replaceAll("\\s+", "");
+        String cardNumber = PaymentValidator.stripWhitespace(scanner.nextLine());
         
-        if (!cardNumber.matches("\\d{16}")) {
-            System.out.println(ConsoleColors.RED + "Invalid card number. Must be 16 digits." + ConsoleColors.RESET);
-            return false;
+        String cardError = PaymentValidator.cardNumberError(cardNumber);
+        if (cardError != null) {
+            System.out.println(ConsoleColors.RED + cardError + ConsoleColors.RESET);
+            return null;
         }
         
         System.out.print("Enter expiration date (MM/YY): ");
         String expDate = scanner.nextLine();
         
-        if (!expDate.matches("(0[1-9]|1[0-2])/[0-9]{2}")) {
+        if (!PaymentValidator.isValidExpiryFormat(expDate)) {
             System.out.println(ConsoleColors.RED + "Invalid expiration date. Must be in format MM/YY." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
-        
-        try {
-            String[] parts = expDate.split("/");
-            int month = Integer.parseInt(parts[0]);
-            int year = Integer.parseInt(parts[1]) + 2000; 
-            
-            LocalDate expiryDate = LocalDate.of(year, month, 1).plusMonths(1).minusDays(1);
-            if (expiryDate.isBefore(LocalDate.now())) {
-                System.out.println(ConsoleColors.RED + "Card is expired." + ConsoleColors.RESET);
-                return false;
-            }
-        } catch (DateTimeParseException e) {
-            System.out.println(ConsoleColors.RED + "Invalid date format." + ConsoleColors.RESET);
-            return false;
+        if (PaymentValidator.isExpired(expDate, LocalDate.now())) {
+            System.out.println(ConsoleColors.RED + "Card is expired." + ConsoleColors.RESET);
+            return null;
         }
         
         System.out.print("Enter CVV (3 digits): ");
         String cvv = scanner.nextLine();
         
-        if (!cvv.matches("\\d{3}")) {
+        if (!PaymentValidator.isValidCvv(cvv)) {
             System.out.println(ConsoleColors.RED + "Invalid CVV. Must be 3 digits." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
         System.out.print("Enter cardholder name: ");
@@ -207,59 +168,49 @@ public class PaymentProcessor {
         
         if (cardholderName.isEmpty()) {
             System.out.println(ConsoleColors.RED + "Cardholder name cannot be empty." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
-        return true;
+        return PaymentRequest.creditCard(amount, description, cardNumber, expDate, cvv, cardholderName);
     }
     
-    private boolean collectPayPalDetails() {
+    private PaymentRequest collectPayPalDetails(double amount, String description) {
         System.out.print("Enter PayPal email: ");
         String email = scanner.nextLine();
         
-        if (!email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
+        if (!PaymentValidator.isValidEmail(email)) {
             System.out.println(ConsoleColors.RED + "Invalid email format." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
         System.out.print("Enter PayPal password: ");
         String password = scanner.nextLine();
         
-        if (password.length() < 6) {
+        if (!PaymentValidator.isValidPayPalPassword(password)) {
             System.out.println(ConsoleColors.RED + "Password must be at least 6 characters." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
-        return true;
+        return PaymentRequest.payPal(amount, description, email, password);
     }
     
-    private boolean collectBankDetails() {
+    private PaymentRequest collectBankDetails(double amount, String description) {
         System.out.print("Enter bank account number: ");
-        String accountNumber = scanner.nextLine().replaceAll("\\s+", "");
+        String accountNumber = PaymentValidator.stripWhitespace(scanner.nextLine());
         
-        if (!accountNumber.matches("\\d{8,20}")) {
+        if (!PaymentValidator.isValidAccountNumber(accountNumber)) {
             System.out.println(ConsoleColors.RED + "Invalid account number." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
         System.out.print("Enter bank routing number: ");
-        String routingNumber = scanner.nextLine().replaceAll("\\s+", "");
+        String routingNumber = PaymentValidator.stripWhitespace(scanner.nextLine());
         
-        if (!routingNumber.matches("\\d{9}")) {
+        if (!PaymentValidator.isValidRoutingNumber(routingNumber)) {
             System.out.println(ConsoleColors.RED + "Invalid routing number. Must be 9 digits." + ConsoleColors.RESET);
-            return false;
+            return null;
         }
         
-        return true;
-    }
-    
-    private String generateReceiptNumber() {
-        
-        Random random = new Random();
-        StringBuilder receiptBuilder = new StringBuilder("RCT-");
-        for (int i = 0; i < 8; i++) {
-            receiptBuilder.append(random.nextInt(10));
-        }
-        return receiptBuilder.toString();
+        return PaymentRequest.bankTransfer(amount, description, accountNumber, routingNumber);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,81 @@
+package payment;
+
+public class PaymentRequest {
+    public enum Method {
+        CREDIT_CARD("Credit Card"),
+        PAYPAL("PayPal"),
+        BANK_TRANSFER("Bank Transfer");
+
+        private final String displayName;
+
+        Method(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final Method method;
+    private final double amount;
+    private final String description;
+    private final String idempotencyKey;
+    private final String accountNumber;
+    private final String expiry;
+    private final String securityCode;
+    private final String holderName;
+    private final String email;
+    private final String password;
+    private final String routingNumber;
+
+    private PaymentRequest(Method method, double amount, String description, String idempotencyKey,
+                           String accountNumber, String expiry, String securityCode, String holderName,
+                           String email, String password, String routingNumber) {
+        this.method = method;
+        this.amount = amount;
+        this.description = description;
+        this.idempotencyKey = idempotencyKey;
+        this.accountNumber = accountNumber;
+        this.expiry = expiry;
+        this.securityCode = securityCode;
+        this.holderName = holderName;
+        this.email = email;
+        this.password = password;
+        this.routingNumber = routingNumber;
+    }
+
+    public static PaymentRequest creditCard(double amount, String description, String cardNumber,
+                                            String expiry, String cvv, String cardholderName) {
+        return new PaymentRequest(Method.CREDIT_CARD, amount, description, null,
+                                  cardNumber, expiry, cvv, cardholderName, null, null, null);
+    }
+
+    public static PaymentRequest payPal(double amount, String description, String email, String password) {
+        return new PaymentRequest(Method.PAYPAL, amount, description, null,
+                                  null, null, null, null, email, password, null);
+    }
+
+    public static PaymentRequest bankTransfer(double amount, String description, String accountNumber, String routingNumber) {
+        return new PaymentRequest(Method.BANK_TRANSFER, amount, description, null,
+                                  accountNumber, null, null, null, null, null, routingNumber);
+    }
+
+    public PaymentRequest withIdempotencyKey(String idempotencyKey) {
+        return new PaymentRequest(method, amount, description, idempotencyKey, accountNumber, expiry,
+                                  securityCode, holderName, email, password, routingNumber);
+    }
+
+    public Method getMethod() { return method; }
+    public double getAmount() { return amount; }
+    public String getDescription() { return description; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public String getCardNumber() { return method == Method.CREDIT_CARD ? accountNumber : null; }
+    public String getExpiry() { return expiry; }
+    public String getCvv() { return securityCode; }
+    public String getCardholderName() { return holderName; }
+    public String getEmail() { return email; }
+    public String getPassword() { return password; }
+    public String getAccountNumber() { return method == Method.BANK_TRANSFER ? accountNumber : null; }
+    public String getRoutingNumber() { return routingNumber; }
+}
@@ -0,0 +1,35 @@
+package payment;
+
+public class PaymentResult {
+    private final boolean successful;
+    private final String receiptNumber;
+    private final double amount;
+    private final String message;
+
+    private PaymentResult(boolean successful, String receiptNumber, double amount, String message) {
+        this.successful = successful;
+        this.receiptNumber = receiptNumber;
+        this.amount = amount;
+        this.message = message;
+    }
+
+    public static PaymentResult approved(String receiptNumber, double amount) {
+        return new PaymentResult(true, receiptNumber, amount, "Payment successful");
+    }
+
+    public static PaymentResult declined(double amount, String reason) {
+        return new PaymentResult(false, null, amount, reason);
+    }
+
+    public boolean isSuccessful() { return successful; }
+    public String getReceiptNumber() { return receiptNumber; }
+    public double getAmount() { return amount; }
+    public String getMessage() { return message; }
+
+    @Override
+    public String toString() {
+        return successful
+            ? String.format("Approved $%.2f - Receipt %s", amount, receiptNumber)
+            : String.format("Declined $%.2f - %s", amount, message);
+    }
+}
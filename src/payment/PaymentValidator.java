@@ -0,0 +1,156 @@
+package payment;
+
+import java.time.LocalDate;
+import java.util.regex.Pattern;
+
+public final class PaymentValidator {
+    private static final Pattern EMAIL = Pattern.compile("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+
+    private PaymentValidator() {
+    }
+
+    public static String validate(PaymentRequest request, LocalDate today) {
+        if (request.getAmount() <= 0 || Double.isNaN(request.getAmount()) || Double.isInfinite(request.getAmount())) {
+            return "Invalid payment amount.";
+        }
+        switch (request.getMethod()) {
+            case CREDIT_CARD:
+                String cardError = cardNumberError(request.getCardNumber());
+                if (cardError != null) {
+                    return cardError;
+                }
+                if (!isValidExpiryFormat(request.getExpiry())) {
+                    return "Invalid expiration date. Must be in format MM/YY.";
+                }
+                if (isExpired(request.getExpiry(), today)) {
+                    return "Card is expired.";
+                }
+                if (!isValidCvv(request.getCvv())) {
+                    return "Invalid CVV. Must be 3 digits.";
+                }
+                if (request.getCardholderName() == null || request.getCardholderName().isEmpty()) {
+                    return "Cardholder name cannot be empty.";
+                }
+                return null;
+            case PAYPAL:
+                if (!isValidEmail(request.getEmail())) {
+                    return "Invalid email format.";
+                }
+                if (!isValidPayPalPassword(request.getPassword())) {
+                    return "Password must be at least 6 characters.";
+                }
+                return null;
+            default:
+                if (!isValidAccountNumber(request.getAccountNumber())) {
+                    return "Invalid account number.";
+                }
+                if (!isValidRoutingNumber(request.getRoutingNumber())) {
+                    return "Invalid routing number. Must be 9 digits.";
+                }
+                return null;
+        }
+    }
+
+    public static boolean isValidCardNumber(String cardNumber) {
+        return cardNumberError(cardNumber) == null;
+    }
+
+    public static String cardNumberError(String cardNumber) {
+        if (!isDigits(cardNumber, 16, 16)) {
+            return "Invalid card number. Must be 16 digits.";
+        }
+        if (!passesLuhn(cardNumber)) {
+            return "Invalid card number. Please check the digits.";
+        }
+        return null;
+    }
+
+    public static boolean isValidExpiryFormat(String expiry) {
+        if (expiry == null || expiry.length() != 5 || expiry.charAt(2) != '/'
+            || !isDigitRange(expiry, 0, 2) || !isDigitRange(expiry, 3, 5)) {
+            return false;
+        }
+        int month = (expiry.charAt(0) - '0') * 10 + (expiry.charAt(1) - '0');
+        return month >= 1 && month <= 12;
+    }
+
+    public static boolean isExpired(String expiry, LocalDate today) {
+        int month = (expiry.charAt(0) - '0') * 10 + (expiry.charAt(1) - '0');
+        int year = 2000 + (expiry.charAt(3) - '0') * 10 + (expiry.charAt(4) - '0');
+        LocalDate expiryDate = LocalDate.of(year, month, 1).plusMonths(1).minusDays(1);
+        return expiryDate.isBefore(today);
+    }
+
+    public static boolean isValidCvv(String cvv) {
+        return isDigits(cvv, 3, 3);
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL.matcher(email).matches();
+    }
+
+    public static boolean isValidPayPalPassword(String password) {
+        return password != null && password.length() >= 6;
+    }
+
+    public static boolean isValidAccountNumber(String accountNumber) {
+        return isDigits(accountNumber, 8, 20);
+    }
+
+    public static boolean isValidRoutingNumber(String routingNumber) {
+        return isDigits(routingNumber, 9, 9);
+    }
+
+    public static String stripWhitespace(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder stripped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (stripped == null) {
+                    stripped = new StringBuilder(value.length());
+                    stripped.append(value, 0, i);
+                }
+            } else if (stripped != null) {
+                stripped.append(c);
+            }
+        }
+        return stripped == null ? value : stripped.toString();
+    }
+
+    static boolean passesLuhn(String digits) {
+        int sum = 0;
+        boolean doubleIt = false;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (doubleIt) {
+                d *= 2;
+                if (d > 9) {
+                    d -= 9;
+                }
+            }
+            sum += d;
+            doubleIt = !doubleIt;
+        }
+        return sum % 10 == 0;
+    }
+
+    private static boolean isDigits(String value, int minLength, int maxLength) {
+        if (value == null || value.length() < minLength || value.length() > maxLength) {
+            return false;
+        }
+        return isDigitRange(value, 0, value.length());
+    }
+
+    private static boolean isDigitRange(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+package payment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SettlementEngine {
+    private static final int DEFAULT_BATCH_SIZE = 64;
+    private static final long DEFAULT_WINDOW_MILLIS = 20;
+    private static final int DEFAULT_IDEMPOTENCY_CAPACITY = 100_000;
+    private static final long DEFAULT_IDEMPOTENCY_TTL_MINUTES = 30;
+
+    private final PaymentGateway gateway;
+    private final int maxBatchSize;
+    private final long windowMillis;
+    private final IdempotencyCache idempotencyCache;
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler;
+
+    private static final class Pending {
+        private final PaymentRequest request;
+        private final CompletableFuture<PaymentResult> result = new CompletableFuture<>();
+
+        Pending(PaymentRequest request) {
+            this.request = request;
+        }
+    }
+
+    public SettlementEngine(PaymentGateway gateway) {
+        this(gateway, DEFAULT_BATCH_SIZE, DEFAULT_WINDOW_MILLIS,
+             DEFAULT_IDEMPOTENCY_CAPACITY, TimeUnit.MINUTES.toNanos(DEFAULT_IDEMPOTENCY_TTL_MINUTES));
+    }
+
+    public SettlementEngine(PaymentGateway gateway, int maxBatchSize, long windowMillis,
+                            int idempotencyCapacity, long idempotencyTtlNanos) {
+        if (maxBatchSize <= 0 || windowMillis < 0 || idempotencyCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size and cache capacity must be positive");
+        }
+        this.gateway = gateway;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.idempotencyCache = new IdempotencyCache(idempotencyCapacity, idempotencyTtlNanos);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "payment-settlement");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<PaymentResult> submit(PaymentRequest request) {
+        Pending pending = new Pending(request);
+        String key = request.getIdempotencyKey();
+        if (key != null) {
+            CompletableFuture<PaymentResult> previous = idempotencyCache.putIfAbsent(key, pending.result);
+            if (previous != null) {
+                return previous;
+            }
+            pending.result.whenComplete((result, error) -> {
+                if (error != null) {
+                    idempotencyCache.remove(key, pending.result);
+                }
+            });
+        }
+
+        queue.add(pending);
+        if (queued.incrementAndGet() >= maxBatchSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return pending.result;
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        Pending pending;
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(pending);
+            if (batch.size() == maxBatchSize) {
+                settle(batch);
+                batch = new ArrayList<>(maxBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            settle(batch);
+        }
+    }
+
+    private void settle(List<Pending> batch) {
+        List<PaymentRequest> requests = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            requests.add(pending.request);
+        }
+        CompletableFuture<List<PaymentResult>> settlement;
+        try {
+            settlement = gateway.settle(requests);
+        } catch (RuntimeException e) {
+            settlement = CompletableFuture.failedFuture(e);
+        }
+        settlement.whenComplete((results, error) -> {
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<PaymentResult> result = batch.get(i).result;
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else if (results == null || i >= results.size()) {
+                    result.completeExceptionally(new IllegalStateException("Gateway returned an incomplete settlement"));
+                } else {
+                    result.complete(results.get(i));
+                }
+            }
+        });
+    }
+
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+}
@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import auth.User;
 import core.Booking;
@@ -16,18 +17,23 @@ import core.BookingComponent;
 import core.ConcreteBooking;
 import core.Flight;
 import core.Passenger;
+import core.SeatHold;
 import data.FlightDatabase;
+import data.FlightOrder;
+import data.FlightQuery;
 import payment.PaymentProcessor;
+import payment.PaymentResult;
 import patterns.decorator.InsuranceDecorator;
 import patterns.decorator.MealDecorator;
 import patterns.decorator.PriorityBoardingDecorator;
 
 public class FlightBookingApp {
-    private static FlightDatabase flightDb = new FlightDatabase();
+    private static FlightDatabase flightDb = FlightDatabase.getInstance();
     private static Scanner scanner = new Scanner(System.in);
     private static Passenger currentPassenger;
     private static User currentUser;
     private static PaymentProcessor paymentProcessor = new PaymentProcessor(scanner);
+    private static final long SEAT_HOLD_MINUTES = 10;
 
     public static void main(String[] args) {
         System.out.println(ConsoleColors.CYAN + "Welcome to the Flight Booking Management System!" + ConsoleColors.RESET);
@@ -213,6 +219,8 @@ public class FlightBookingApp {
         String selectedDeparture = null;
         String selectedArrival = null;
         List<Flight> results = null;
+        FlightQuery query = null;
+        boolean filtersApplied = false;
         
         while (currentStep != SearchStep.EXIT) {
             switch (currentStep) {
@@ -280,7 +288,9 @@ public class FlightBookingApp {
                     if (validArrival) {
                         System.out.println(ConsoleColors.CYAN + "\nSearching for flights from " + selectedDeparture + 
                                            " to " + selectedArrival + "..." + ConsoleColors.RESET);
-                        results = flightDb.searchFlights(selectedDeparture, selectedArrival);
+                        query = flightDb.query().from(selectedDeparture).to(selectedArrival);
+                        results = query.list();
+                        filtersApplied = false;
                         
                         if (results.isEmpty()) {
                             System.out.println(ConsoleColors.YELLOW + "No flights found for this route." + ConsoleColors.RESET);
@@ -319,20 +329,21 @@ public class FlightBookingApp {
                         break;
                     }
                     
+                    FlightQuery refinedQuery = query.copy();
                     List<Flight> filteredResults = new ArrayList<>(results);
                     
                     switch (filterChoice) {
                         case 1: 
-                            filteredResults = filterByDateRange(filteredResults);
+                            filteredResults = filterByDateRange(refinedQuery, filteredResults);
                             break;
                         case 2: 
-                            filteredResults = filterByMaxPrice(filteredResults);
+                            filteredResults = filterByMaxPrice(refinedQuery, filteredResults);
                             break;
                         case 3: 
-                            filteredResults = filterByAirline(filteredResults);
+                            filteredResults = filterByAirline(refinedQuery, filteredResults);
                             break;
                         case 4: 
-                            filteredResults = filterByMaxDuration(filteredResults);
+                            filteredResults = filterByMaxDuration(refinedQuery, filteredResults);
                             break;
                         default:
                             System.out.println(ConsoleColors.YELLOW + "No filters applied." + ConsoleColors.RESET);
@@ -347,6 +358,10 @@ public class FlightBookingApp {
                         break;
                     }
                     
+                    if (filterChoice >= 1 && filterChoice <= 4) {
+                        filtersApplied = true;
+                    }
+                    query = refinedQuery;
                     results = filteredResults;
                     currentStep = SearchStep.SORT_RESULTS;
                     break;
@@ -378,11 +393,19 @@ public class FlightBookingApp {
                     
                     switch (sortChoice) {
                         case 1: 
-                            sortedResults.sort(Comparator.comparing(Flight::getPrice));
+                            if (filtersApplied) {
+                                sortedResults.sort(Comparator.comparing(Flight::getPrice));
+                            } else {
+                                sortedResults = flightDb.topK(selectedDeparture, selectedArrival, results.size(), FlightOrder.PRICE);
+                            }
                             System.out.println(ConsoleColors.GREEN + "Sorted by price (lowest first)" + ConsoleColors.RESET);
                             break;
                         case 2: 
-                            sortedResults.sort(Comparator.comparing(Flight::getDuration));
+                            if (filtersApplied) {
+                                sortedResults.sort(Comparator.comparing(Flight::getDuration));
+                            } else {
+                                sortedResults = flightDb.topK(selectedDeparture, selectedArrival, results.size(), FlightOrder.DURATION);
+                            }
                             System.out.println(ConsoleColors.GREEN + "Sorted by duration (shortest first)" + ConsoleColors.RESET);
                             break;
                         case 3: 
@@ -455,23 +478,35 @@ public class FlightBookingApp {
             return;
         }
         
-        BookingComponent bookingComponent = new ConcreteBooking(flight, currentPassenger.name, seatCode);
+        SeatHold hold = flight.getSeatMap().holdSeat(seatCode, SEAT_HOLD_MINUTES, TimeUnit.MINUTES);
+        if (hold == null) {
+            System.out.println(ConsoleColors.RED + "Seat " + seatCode + " is no longer available. Booking cancelled." + ConsoleColors.RESET);
+            return;
+        }
+        System.out.println(ConsoleColors.CYAN + "Seat " + seatCode + " is held for " + SEAT_HOLD_MINUTES + " minutes while you complete payment." + ConsoleColors.RESET);
+        
+        BookingComponent bookingComponent = new ConcreteBooking(flight, currentPassenger.name, hold);
         Booking booking = new Booking(bookingComponent);
         
         
-        if (paymentProcessor.processPayment(booking.getCost(), booking)) {
+        PaymentResult payment = paymentProcessor.processPaymentAsync(booking.getCost(), booking, hold::secure).join();
+        
+        if (payment.isSuccessful()) {
             currentPassenger.addBooking(booking);
             currentPassenger.subscribeToFlight(flight);
-            System.out.println(ConsoleColors.GREEN + "Booking created: " + booking.getDescription() + " - Cost: $" + booking.getCost() + ConsoleColors.RESET);
+            currentUser.saveProfile();
+            System.out.println(ConsoleColors.GREEN + "Booking " + booking.getBookingId() + " created: " + booking.getDescription() + " - Cost: $" + booking.getCost() + ConsoleColors.RESET);
             System.out.println(ConsoleColors.GREEN + "You are now subscribed to updates for Flight " + flight.getFlightNumber() + ConsoleColors.RESET);
+        } else if (hold.getState() == SeatHold.State.EXPIRED) {
+            System.out.println(ConsoleColors.RED + "Your hold on seat " + seatCode + " expired and the seat has been taken. Booking cancelled." + ConsoleColors.RESET);
         } else {
             
-            flight.getSeatMap().releaseSeat(seatCode);
+            hold.release();
             System.out.println(ConsoleColors.RED + "Booking cancelled due to payment failure." + ConsoleColors.RESET);
         }
     }
 
-    private static List<Flight> filterByDateRange(List<Flight> flights) {
+    private static List<Flight> filterByDateRange(FlightQuery query, List<Flight> flights) {
         DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
         LocalDate startDate = null;
         LocalDate endDate = null;
@@ -502,24 +537,14 @@ public class FlightBookingApp {
             }
         }
         
-        LocalDate finalStartDate = startDate;
-        LocalDate finalEndDate = endDate;
-        
-        List<Flight> filtered = new ArrayList<>();
-        for (Flight flight : flights) {
-            LocalDate flightDate = flight.getDepartureDate();
-            if ((flightDate.isEqual(finalStartDate) || flightDate.isAfter(finalStartDate)) && 
-                (flightDate.isEqual(finalEndDate) || flightDate.isBefore(finalEndDate))) {
-                filtered.add(flight);
-            }
-        }
+        List<Flight> filtered = query.departingBetween(startDate, endDate).list();
         
         System.out.println(ConsoleColors.GREEN + "Found " + filtered.size() + " flights between " + 
                            startDate + " and " + endDate + ConsoleColors.RESET);
         return filtered;
     }
     
-    private static List<Flight> filterByMaxPrice(List<Flight> flights) {
+    private static List<Flight> filterByMaxPrice(FlightQuery query, List<Flight> flights) {
         System.out.print("Enter maximum price (USD): ");
         double maxPrice;
         try {
@@ -529,18 +554,13 @@ public class FlightBookingApp {
             return flights;
         }
         
-        List<Flight> filtered = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getPrice() <= maxPrice) {
-                filtered.add(flight);
-            }
-        }
+        List<Flight> filtered = query.maxPrice(maxPrice).list();
         
         System.out.println(ConsoleColors.GREEN + "Found " + filtered.size() + " flights under $" + maxPrice + ConsoleColors.RESET);
         return filtered;
     }
     
-    private static List<Flight> filterByAirline(List<Flight> flights) {
+    private static List<Flight> filterByAirline(FlightQuery query, List<Flight> flights) {
         
         List<String> airlines = new ArrayList<>();
         for (Flight flight : flights) {
@@ -570,18 +590,13 @@ public class FlightBookingApp {
         
         String selectedAirline = airlines.get(choice);
         
-        List<Flight> filtered = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getAirline().equals(selectedAirline)) {
-                filtered.add(flight);
-            }
-        }
+        List<Flight> filtered = query.airline(selectedAirline).list();
         
         System.out.println(ConsoleColors.GREEN + "Found " + filtered.size() + " flights by " + selectedAirline + ConsoleColors.RESET);
         return filtered;
     }
     
-    private static List<Flight> filterByMaxDuration(List<Flight> flights) {
+    private static List<Flight> filterByMaxDuration(FlightQuery query, List<Flight> flights) {
         System.out.print("Enter maximum flight duration in hours: ");
         double maxDuration;
         try {
@@ -591,12 +606,7 @@ public class FlightBookingApp {
             return flights;
         }
         
-        List<Flight> filtered = new ArrayList<>();
-        for (Flight flight : flights) {
-            if (flight.getDuration() <= maxDuration) {
-                filtered.add(flight);
-            }
-        }
+        List<Flight> filtered = query.maxDuration(maxDuration).list();
         
         System.out.println(ConsoleColors.GREEN + "Found " + filtered.size() + " flights under " + maxDuration + " hours" + ConsoleColors.RESET);
         return filtered;
@@ -669,18 +679,30 @@ public class FlightBookingApp {
             return;
         }
         
-        BookingComponent bookingComponent = new ConcreteBooking(flight, currentPassenger.name, seatCode);
+        SeatHold hold = flight.getSeatMap().holdSeat(seatCode, SEAT_HOLD_MINUTES, TimeUnit.MINUTES);
+        if (hold == null) {
+            System.out.println(ConsoleColors.RED + "Seat " + seatCode + " is no longer available. Booking cancelled." + ConsoleColors.RESET);
+            return;
+        }
+        System.out.println(ConsoleColors.CYAN + "Seat " + seatCode + " is held for " + SEAT_HOLD_MINUTES + " minutes while you complete payment." + ConsoleColors.RESET);
+        
+        BookingComponent bookingComponent = new ConcreteBooking(flight, currentPassenger.name, hold);
         Booking booking = new Booking(bookingComponent);
         
         
-        if (paymentProcessor.processPayment(booking.getCost(), booking)) {
+        PaymentResult payment = paymentProcessor.processPaymentAsync(booking.getCost(), booking, hold::secure).join();
+        
+        if (payment.isSuccessful()) {
             currentPassenger.addBooking(booking);
             currentPassenger.subscribeToFlight(flight);
-            System.out.println(ConsoleColors.GREEN + "Booking created: " + booking.getDescription() + " - Cost: $" + booking.getCost() + ConsoleColors.RESET);
+            currentUser.saveProfile();
+            System.out.println(ConsoleColors.GREEN + "Booking " + booking.getBookingId() + " created: " + booking.getDescription() + " - Cost: $" + booking.getCost() + ConsoleColors.RESET);
             System.out.println(ConsoleColors.GREEN + "You are now subscribed to updates for Flight " + flightNumber + ConsoleColors.RESET);
+        } else if (hold.getState() == SeatHold.State.EXPIRED) {
+            System.out.println(ConsoleColors.RED + "Your hold on seat " + seatCode + " expired and the seat has been taken. Booking cancelled." + ConsoleColors.RESET);
         } else {
             
-            flight.getSeatMap().releaseSeat(seatCode);
+            hold.release();
             System.out.println(ConsoleColors.RED + "Booking cancelled due to payment failure." + ConsoleColors.RESET);
         }
     }
@@ -845,6 +867,7 @@ public class FlightBookingApp {
                         if (paymentProcessor.processPayment(additionalCost, selectedBooking)) {
                             
                             currentPassenger.addLoyaltyPoints((int) (additionalCost / 10));
+                            currentUser.saveProfile();
                             System.out.println(ConsoleColors.GREEN + "Final Booking: " + selectedBooking.getDescription() + 
                                               " - Total Cost: $" + String.format("%.2f", selectedBooking.getCost()) + ConsoleColors.RESET);
                         } else {
@@ -890,7 +913,7 @@ public class FlightBookingApp {
         
         
         System.out.println(ConsoleColors.YELLOW + "\nGroup Bookings:" + ConsoleColors.RESET);
-        data.GroupBookingDatabase groupDb = new data.GroupBookingDatabase();
+        data.GroupBookingDatabase groupDb = data.GroupBookingDatabase.getInstance();
         List<core.GroupBooking> groupBookings = groupDb.getGroupBookingsForPassenger(currentPassenger);
         
         if (groupBookings.isEmpty()) {
@@ -944,7 +967,7 @@ public class FlightBookingApp {
         
         
         System.out.println(ConsoleColors.YELLOW + "\nGroup Bookings:" + ConsoleColors.RESET);
-        data.GroupBookingDatabase groupDb = new data.GroupBookingDatabase();
+        data.GroupBookingDatabase groupDb = data.GroupBookingDatabase.getInstance();
         List<core.GroupBooking> groupBookings = groupDb.getGroupBookingsForPassenger(currentPassenger);
         
         if (groupBookings.isEmpty()) {
@@ -1017,6 +1040,7 @@ public class FlightBookingApp {
                 
                 
                 currentPassenger.cancelBooking(bookingToCancel);
+                currentUser.saveProfile();
                 
                 System.out.println(ConsoleColors.GREEN + "Booking canceled successfully." + ConsoleColors.RESET);
             } else {
@@ -1051,7 +1075,16 @@ public class FlightBookingApp {
             
             if (groupConfirmation.equalsIgnoreCase("confirm")) {
                 
-                currentPassenger.cancelGroupBooking(groupBookingToCancel);
+                if (!currentPassenger.cancelGroupBooking(groupBookingToCancel)) {
+                    System.out.println(ConsoleColors.RED + "You are no longer part of this group booking." + ConsoleColors.RESET);
+                    return;
+                }
+                
+                if (groupBookingToCancel.getPassengers().isEmpty()) {
+                    groupDb.removeGroupBooking(groupBookingToCancel.getGroupId());
+                } else {
+                    groupDb.updateGroupBooking(groupBookingToCancel);
+                }
                 
                 System.out.println(ConsoleColors.GREEN + "Group booking canceled successfully." + ConsoleColors.RESET);
             } else {
@@ -1164,6 +1197,7 @@ public class FlightBookingApp {
         }
         
         if (seatChanged) {
+            currentUser.saveProfile();
             System.out.println(ConsoleColors.GREEN + "Seat changed successfully from " + currentSeat + " to " + newSeatCode + ConsoleColors.RESET);
         } else {
             System.out.println(ConsoleColors.RED + "Failed to change seat. The seat may already be occupied." + ConsoleColors.RESET);
@@ -1171,7 +1205,7 @@ public class FlightBookingApp {
     }
     
     private static void changeGroupSeat() {
-        data.GroupBookingDatabase groupDb = new data.GroupBookingDatabase();
+        data.GroupBookingDatabase groupDb = data.GroupBookingDatabase.getInstance();
         List<core.GroupBooking> groupBookings = groupDb.getGroupBookingsForPassenger(currentPassenger);
         
         if (groupBookings.isEmpty()) {
@@ -1266,7 +1300,7 @@ public class FlightBookingApp {
         System.out.println(ConsoleColors.CYAN + "\n--- Create Group Booking ---" + ConsoleColors.RESET);
         
         
-        data.GroupBookingDatabase groupDb = new data.GroupBookingDatabase();
+        data.GroupBookingDatabase groupDb = data.GroupBookingDatabase.getInstance();
         
         
         System.out.println(ConsoleColors.YELLOW + "Step 1: Select a flight for the group" + ConsoleColors.RESET);
@@ -1376,19 +1410,47 @@ public class FlightBookingApp {
         
         SeatMapVisualizer seatVisualizer = new SeatMapVisualizer(selectedFlight.getSeatMap());
         
+        System.out.println("1. Seat the group together automatically");
+        System.out.println("2. Choose seats for each passenger");
+        System.out.print("Enter your choice: ");
+        
+        int seatingChoice;
+        try {
+            seatingChoice = scanner.nextInt();
+            scanner.nextLine();
+        } catch (InputMismatchException e) {
+            scanner.nextLine();
+            seatingChoice = 2;
+        }
+        
+        if (seatingChoice == 1) {
+            if (groupBooking.assignSeatsTogether()) {
+                for (Passenger passenger : passengers) {
+                    System.out.println(ConsoleColors.GREEN + "Seat " + groupBooking.getAssignedSeat(passenger) + " assigned to " + passenger.name + ConsoleColors.RESET);
+                }
+            } else {
+                System.out.println(ConsoleColors.YELLOW + "Not enough seats to keep the group together. Please choose seats individually." + ConsoleColors.RESET);
+            }
+        }
+        
         for (Passenger passenger : passengers) {
+            if (groupBooking.getAssignedSeat(passenger) != null) {
+                continue;
+            }
             System.out.println(ConsoleColors.CYAN + "\nSelecting seat for: " + passenger.name + ConsoleColors.RESET);
             
             
             String seatCode = seatVisualizer.selectSeat(scanner);
             
             if (seatCode == null) {
+                groupBooking.releaseSeats();
                 System.out.println(ConsoleColors.RED + "Seat selection cancelled. Group booking aborted." + ConsoleColors.RESET);
                 return;
             }
             
             
             if (!groupBooking.assignSeat(passenger, seatCode)) {
+                groupBooking.releaseSeats();
                 System.out.println(ConsoleColors.RED + "Error assigning seat " + seatCode + " to " + passenger.name + ". Please try again." + ConsoleColors.RESET);
                 return;
             }
@@ -1423,17 +1485,20 @@ public class FlightBookingApp {
         try {
             confirmChoice = Integer.parseInt(scanner.nextLine());
         } catch (NumberFormatException e) {
+            groupBooking.releaseSeats();
             System.out.println(ConsoleColors.RED + "Invalid input. Booking cancelled." + ConsoleColors.RESET);
             return;
         }
         
         if (confirmChoice != 1) {
+            groupBooking.releaseSeats();
             System.out.println(ConsoleColors.YELLOW + "Booking cancelled." + ConsoleColors.RESET);
             return;
         }
         
         
         if (!paymentProcessor.processPayment(discountedPrice, "Group booking for " + passengers.size() + " passengers to " + selectedFlight.getArrival())) {
+            groupBooking.releaseSeats();
             System.out.println(ConsoleColors.RED + "Payment failed. Group booking cancelled." + ConsoleColors.RESET);
             return;
         }
@@ -1450,6 +1515,7 @@ public class FlightBookingApp {
             System.out.println("Contact: " + contactName);
             System.out.println("Total paid: $" + String.format("%.2f", discountedPrice));
         } else {
+            groupBooking.releaseSeats();
             System.out.println(ConsoleColors.RED + "Error creating group booking. Please try again." + ConsoleColors.RESET);
         }
     }
@@ -2,7 +2,6 @@ package ui;
 
 import core.SeatMap;
 import java.util.Scanner;
-import java.util.Map;
 
 public class SeatMapVisualizer {
     private SeatMap seatMap;
@@ -24,34 +23,23 @@ public class SeatMapVisualizer {
         }
         
         
-        try {
-            int[] seatPosition = seatMap.parseSeatCode(seatCode);
-            int row = seatPosition[0];
-            int column = seatPosition[1];
-            
-            if (row < 1 || row > seatMap.getRows() || column < 0 || column >= seatMap.getColumns()) {
-                System.out.println(ConsoleColors.RED + "Invalid seat code. Please try again." + ConsoleColors.RESET);
-                return selectSeat(scanner);
-            }
-            
-            
-            if (seatMap.isSeatOccupied(seatCode)) {
-                System.out.println(ConsoleColors.RED + "This seat is already occupied. Please select another seat." + ConsoleColors.RESET);
-                return selectSeat(scanner);
-            }
-            
-            return seatCode;
-        } catch (Exception e) {
-            System.out.println(ConsoleColors.RED + "Invalid seat code format. Please enter a valid seat code (e.g., 15B)." + ConsoleColors.RESET);
+        if (!seatMap.isValidSeat(seatCode)) {
+            System.out.println(ConsoleColors.RED + "Invalid seat code. Please enter a valid seat code (e.g., 15B)." + ConsoleColors.RESET);
+            return selectSeat(scanner);
+        }
+        
+        
+        if (seatMap.isSeatOccupied(seatCode)) {
+            System.out.println(ConsoleColors.RED + "This seat is already occupied. Please select another seat." + ConsoleColors.RESET);
             return selectSeat(scanner);
         }
+        
+        return seatCode;
     }
     
     private void displaySeatMap() {
-        Map<String, Boolean> occupiedSeats = seatMap.getOccupiedSeats();
-        
         System.out.println(ConsoleColors.CYAN + "\n--- Seat Map for Flight " + seatMap.getFlightNumber() + " ---" + ConsoleColors.RESET);
-        System.out.println("      A   B   C       D   E   F");
+        System.out.println("      A   B   C       F   G   H");
         System.out.println("    +---+---+---+   +---+---+---+");
         
         for (int row = 1; row <= seatMap.getRows(); row++) {
@@ -64,16 +52,13 @@ public class SeatMapVisualizer {
             
             
             for (int col = 0; col < seatMap.getColumns(); col++) {
-                String seatCode = seatMap.getSeatCode(row, col);
-                
-                
                 if (col == 3) {
                     System.out.print("  | ");
                 }
                 
                 
                 if (col != 3) {
-                    if (occupiedSeats.containsKey(seatCode)) {
+                    if (seatMap.isSeatOccupied(row, col)) {
                         
                         System.out.print(ConsoleColors.RED + "X" + ConsoleColors.RESET + " | ");
                     } else {
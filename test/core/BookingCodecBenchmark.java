@@ -0,0 +1,145 @@
+package core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BookingCodecBenchmark {
+    private static final int FLIGHTS = 2_500;
+    private static final int ROWS = 30;
+    private static final int COLUMNS = 7;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int groups = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<GroupBooking> groupBookings = createGroupBookings(groups);
+        int passengers = countPassengers(groupBookings);
+
+        long javaWrite = Long.MAX_VALUE;
+        long javaRead = Long.MAX_VALUE;
+        long codecWrite = Long.MAX_VALUE;
+        long codecRead = Long.MAX_VALUE;
+        byte[] javaBytes = null;
+        byte[] codecBytes = null;
+
+        for (int pass = 0; pass < RUNS; pass++) {
+            long start = System.nanoTime();
+            javaBytes = writeJava(groupBookings);
+            javaWrite = Math.min(javaWrite, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<GroupBooking> javaLoaded = readJava(javaBytes);
+            javaRead = Math.min(javaRead, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            codecBytes = writeCodec(groupBookings);
+            codecWrite = Math.min(codecWrite, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<GroupBooking> codecLoaded = readCodec(codecBytes);
+            codecRead = Math.min(codecRead, System.nanoTime() - start);
+
+            check("ObjectInputStream", javaLoaded, groups, passengers);
+            check("BookingCodec", codecLoaded, groups, passengers);
+        }
+
+        System.out.println(groups + " group bookings, " + passengers + " passengers on " + FLIGHTS + " flights (best of " + RUNS + " runs)");
+        System.out.printf("%-20s %12s %12s %12s%n", "format", "encode (ms)", "decode (ms)", "size (KB)");
+        System.out.printf("%-20s %12.1f %12.1f %12d%n", "ObjectOutputStream", javaWrite / 1e6, javaRead / 1e6, javaBytes.length / 1024);
+        System.out.printf("%-20s %12.1f %12.1f %12d%n", "BookingCodec", codecWrite / 1e6, codecRead / 1e6, codecBytes.length / 1024);
+        System.out.printf("%-20s %11.1fx %11.1fx %11.1fx%n", "improvement", (double) javaWrite / codecWrite,
+                          (double) javaRead / codecRead, (double) javaBytes.length / codecBytes.length);
+    }
+
+    private static List<GroupBooking> createGroupBookings(int groups) {
+        Random random = new Random(groups);
+        Flight[] flights = new Flight[FLIGHTS];
+        for (int i = 0; i < FLIGHTS; i++) {
+            String flightNumber = "BC" + i;
+            flights[i] = FlightRegistry.register(new Flight(flightNumber, "IST", "LHR", "Turkish Airlines",
+                                                            LocalDate.of(2025, 1, 1).plusDays(i % 365), LocalTime.of(i % 24, 0),
+                                                            4.0, 150 + i % 300, new SeatMap(flightNumber, ROWS, COLUMNS, new long[0])));
+        }
+
+        List<GroupBooking> groupBookings = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            List<Passenger> passengers = new ArrayList<>();
+            int size = 2 + random.nextInt(4);
+            for (int p = 0; p < size; p++) {
+                passengers.add(new Passenger("Passenger " + g + "-" + p));
+            }
+            GroupBooking groupBooking = new GroupBooking("GRP-" + g, flights[random.nextInt(FLIGHTS)], passengers,
+                                                         10, "Contact " + g, "contact" + g + "@example.com", "555-" + (1000 + g % 9000));
+            if (random.nextBoolean()) {
+                groupBooking.assignSeatsTogether();
+            }
+            groupBookings.add(groupBooking);
+        }
+        return groupBookings;
+    }
+
+    private static byte[] writeJava(List<GroupBooking> groupBookings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(groupBookings);
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GroupBooking> readJava(byte[] snapshot) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(snapshot))) {
+            return (List<GroupBooking>) in.readObject();
+        }
+    }
+
+    private static byte[] writeCodec(List<GroupBooking> groupBookings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(groupBookings.size());
+            for (GroupBooking groupBooking : groupBookings) {
+                BookingCodec.writeGroupBooking(out, groupBooking);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<GroupBooking> readCodec(byte[] snapshot) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            int count = in.readInt();
+            List<GroupBooking> groupBookings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                groupBookings.add(BookingCodec.readGroupBooking(in));
+            }
+            return groupBookings;
+        }
+    }
+
+    private static int countPassengers(List<GroupBooking> groupBookings) {
+        int passengers = 0;
+        for (GroupBooking groupBooking : groupBookings) {
+            if (groupBooking == null) {
+                throw new IllegalStateException("A group booking could not be decoded");
+            }
+            passengers += groupBooking.getPassengerCount();
+        }
+        return passengers;
+    }
+
+    private static void check(String format, List<GroupBooking> loaded, int groups, int passengers) {
+        int loadedPassengers = countPassengers(loaded);
+        if (loaded.size() != groups || loadedPassengers != passengers) {
+            throw new IllegalStateException(format + " returned " + loaded.size() + " groups and " + loadedPassengers
+                                            + " passengers, expected " + groups + " and " + passengers);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class SeatMapStressTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 500;
+    private static final int ROWS = 30;
+    private static final int COLUMNS = 7;
+
+    public static void main(String[] args) throws InterruptedException {
+        int failures = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            failures += runBookingRound(round);
+            failures += runReleaseRound(round);
+        }
+
+        if (failures > 0) {
+            System.err.println("SeatMap stress test FAILED with " + failures + " violations");
+            System.exit(1);
+        }
+        System.out.println("SeatMap stress test passed: " + ROUNDS + " rounds, " + THREADS + " threads");
+    }
+
+    private static int runBookingRound(int round) throws InterruptedException {
+        SeatMap seatMap = new SeatMap("STRESS" + round, ROWS, COLUMNS, new long[0]);
+        int seats = ROWS * COLUMNS;
+        int seatCount = seatCodes(seatMap).size();
+        AtomicIntegerArray wins = new AtomicIntegerArray(seats);
+
+        race(round, seatMap, (map, seatCode) -> {
+            if (map.bookSeat(seatCode)) {
+                wins.incrementAndGet(map.getSeatIndex(seatCode));
+            }
+        });
+
+        int failures = 0;
+        for (int i = 0; i < seats; i++) {
+            if (wins.get(i) != (isSeat(seatMap, i) ? 1 : 0)) {
+                System.err.println("Round " + round + ": seat index " + i + " was sold " + wins.get(i) + " times");
+                failures++;
+            }
+        }
+        if (seatMap.getOccupiedSeatCount() != seatCount) {
+            System.err.println("Round " + round + ": expected " + seatCount + " occupied seats, found " + seatMap.getOccupiedSeatCount());
+            failures++;
+        }
+        return failures;
+    }
+
+    private static int runReleaseRound(int round) throws InterruptedException {
+        int seats = ROWS * COLUMNS;
+        long[] full = new long[(seats + 63) >>> 6];
+        for (int i = 0; i < seats; i++) {
+            full[i >>> 6] |= 1L << i;
+        }
+        SeatMap seatMap = new SeatMap("STRESS" + round, ROWS, COLUMNS, full);
+        int seatCount = seatCodes(seatMap).size();
+        AtomicIntegerArray rebooks = new AtomicIntegerArray(seats);
+
+        race(round, seatMap, (map, seatCode) -> {
+            map.releaseSeat(seatCode);
+            if (map.bookSeat(seatCode)) {
+                rebooks.incrementAndGet(map.getSeatIndex(seatCode));
+            }
+        });
+
+        int failures = 0;
+        for (int i = 0; i < seats; i++) {
+            if (isSeat(seatMap, i) && rebooks.get(i) < 1) {
+                System.err.println("Round " + round + ": seat index " + i + " was never rebooked");
+                failures++;
+            }
+        }
+        if (seatMap.getOccupiedSeatCount() != seatCount) {
+            System.err.println("Round " + round + ": expected " + seatCount + " occupied seats after rebooking, found " + seatMap.getOccupiedSeatCount());
+            failures++;
+        }
+        return failures;
+    }
+
+    private interface SeatAction {
+        void apply(SeatMap seatMap, String seatCode);
+    }
+
+    private static boolean isSeat(SeatMap seatMap, int index) {
+        return seatMap.getSeatIndex(index / COLUMNS + 1, index % COLUMNS) >= 0;
+    }
+
+    private static List<String> seatCodes(SeatMap seatMap) {
+        List<String> seatCodes = new ArrayList<>();
+        for (int row = 1; row <= ROWS; row++) {
+            for (int column = 0; column < COLUMNS; column++) {
+                if (seatMap.getSeatIndex(row, column) >= 0) {
+                    seatCodes.add(seatMap.getSeatCode(row, column));
+                }
+            }
+        }
+        return seatCodes;
+    }
+
+    private static void race(int round, SeatMap seatMap, SeatAction action) throws InterruptedException {
+        List<String> seatCodes = seatCodes(seatMap);
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            List<String> order = new ArrayList<>(seatCodes);
+            Collections.shuffle(order, new Random(round * 31L + t));
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (String seatCode : order) {
+                    action.apply(seatMap, seatCode);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import core.Flight;
+
+public class CsvLoadBenchmark {
+    private static final String[] AIRPORTS = {"IST", "SAW", "ESB", "ADB", "AYT", "MUC", "ATH", "LHR", "CDG", "FRA", "AMS", "FCO"};
+    private static final String[] AIRLINES = {"Turkish Airlines", "Pegasus Airlines", "AnadoluJet", "SunExpress"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0 ? parseSizes(args) : new int[]{100_000, 1_000_000};
+
+        System.out.printf("%-10s %10s %20s %21s %10s%n", "rows", "rejected", "BufferedReader (ms)", "FlightCsvLoader (ms)", "speedup");
+        for (int size : sizes) {
+            Path csv = Files.createTempFile("flights-benchmark", ".csv");
+            try {
+                writeCsv(csv, size);
+                run(csv, size);
+            } finally {
+                Files.deleteIfExists(csv);
+            }
+        }
+    }
+
+    private static void run(Path csv, int size) throws IOException {
+        List<String> oldRejected = new ArrayList<>();
+        List<String> newRejected = new ArrayList<>();
+        long oldBest = Long.MAX_VALUE;
+        long newBest = Long.MAX_VALUE;
+        int oldFlights = 0;
+        int newFlights = 0;
+
+        for (int pass = 0; pass < RUNS; pass++) {
+            oldRejected.clear();
+            long start = System.nanoTime();
+            oldFlights = loadWithBufferedReader(csv, oldRejected).size();
+            oldBest = Math.min(oldBest, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            FlightCsvLoader.Result result = FlightCsvLoader.load(csv, new SymbolTable(), new SymbolTable());
+            newBest = Math.min(newBest, System.nanoTime() - start);
+            newFlights = result.getFlights().size();
+            newRejected = result.getRejectedRows();
+        }
+
+        if (oldFlights != newFlights || oldRejected.size() != newRejected.size()) {
+            throw new IllegalStateException("FlightCsvLoader returned " + newFlights + " flights and " + newRejected.size()
+                                            + " rejected rows but the BufferedReader loop returned " + oldFlights + " and " + oldRejected.size());
+        }
+        double oldMillis = oldBest / 1e6;
+        double newMillis = newBest / 1e6;
+        System.out.printf("%-10d %10d %20.1f %21.1f %9.1fx%n", size, newRejected.size(), oldMillis, newMillis, oldMillis / newMillis);
+    }
+
+    private static List<Flight> loadWithBufferedReader(Path csv, List<String> rejected) throws IOException {
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ISO_LOCAL_DATE;
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+        List<Flight> flights = new ArrayList<>();
+
+        try (BufferedReader br = new BufferedReader(new FileReader(csv.toFile()))) {
+            String line = br.readLine();
+            while ((line = br.readLine()) != null) {
+                String[] values = line.split(",");
+                if (values.length == 8) {
+                    try {
+                        String flightNumber = values[0].trim();
+                        String departure = values[1].trim();
+                        String arrival = values[2].trim();
+                        String airline = values[3].trim();
+                        LocalDate date = LocalDate.parse(values[4].trim(), dateFormatter);
+                        LocalTime time = LocalTime.parse(values[5].trim(), timeFormatter);
+                        double duration = Double.parseDouble(values[6].trim());
+                        double price = Double.parseDouble(values[7].trim());
+
+                        flights.add(new Flight(flightNumber, departure, arrival, airline, date, time, duration, price));
+                    } catch (DateTimeParseException | NumberFormatException e) {
+                        rejected.add("Skipping invalid row: " + line + " - Error: " + e.getMessage());
+                    }
+                } else {
+                    rejected.add("Skipping malformed row (expected 8 columns): " + line);
+                }
+            }
+        }
+        return flights;
+    }
+
+    private static void writeCsv(Path csv, int size) throws IOException {
+        Random random = new Random(size);
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("FlightNumber,Departure,Arrival,Airline,Date,Time,Duration,Price\n");
+            for (int i = 0; i < size; i++) {
+                int from = random.nextInt(AIRPORTS.length);
+                int to = (from + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+                String date = FIRST_DAY.plusDays(random.nextInt(365)).toString();
+                String time = String.format("%02d:%02d", random.nextInt(24), random.nextInt(12) * 5);
+                int defect = random.nextInt(200);
+                if (defect == 0) {
+                    writer.write("BM" + i + "," + AIRPORTS[from] + "," + AIRPORTS[to] + "\n");
+                    continue;
+                }
+                if (defect == 1) {
+                    date = "2025-13-40";
+                }
+                writer.write("BM" + i + ", " + AIRPORTS[from] + "," + AIRPORTS[to] + "," + AIRLINES[random.nextInt(AIRLINES.length)]
+                             + "," + date + "," + time + "," + (1 + random.nextInt(80) / 10.0) + "," + (50 + random.nextInt(45_000) / 100.0) + "\n");
+            }
+        }
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}
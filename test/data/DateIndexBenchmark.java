@@ -0,0 +1,117 @@
+package data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import core.Flight;
+
+public class DateIndexBenchmark {
+    private static final String[] AIRPORTS = {"IST", "SAW", "ESB", "ADB", "AYT", "MUC", "ATH", "LHR", "CDG", "FRA", "AMS", "FCO"};
+    private static final String[] AIRLINES = {"Turkish Airlines", "Pegasus Airlines", "AnadoluJet", "SunExpress"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int DAYS = 365;
+    private static final long SCAN_BUDGET = 20_000_000L;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? parseSizes(args) : new int[]{10_000, 100_000, 1_000_000};
+
+        System.out.printf("%-10s %-22s %14s %14s %10s%n", "flights", "query", "scan (us)", "index (us)", "speedup");
+        for (int size : sizes) {
+            FlightDatabase database = new FlightDatabase();
+            List<Flight> all = new ArrayList<>(database.getAllFlights());
+            Random random = new Random(size);
+            for (int i = 0; i < size; i++) {
+                Flight flight = randomFlight(random, i);
+                database.addFlight(flight);
+                all.add(flight);
+            }
+
+            run(size, "1-day window", all, database, 1, false);
+            run(size, "7-day window", all, database, 7, false);
+            run(size, "route + 7-day window", all, database, 7, true);
+        }
+    }
+
+    private static void run(int size, String label, List<Flight> all, FlightDatabase database, int windowDays, boolean byRoute) {
+        int queries = (int) Math.max(20, SCAN_BUDGET / all.size());
+        Random random = new Random(42);
+        LocalDate[] starts = new LocalDate[queries];
+        String[][] routes = new String[queries][];
+        for (int i = 0; i < queries; i++) {
+            starts[i] = FIRST_DAY.plusDays(random.nextInt(DAYS - windowDays));
+            routes[i] = randomRoute(random);
+        }
+
+        for (int pass = 0; pass < 2; pass++) {
+            scan(all, starts, routes, windowDays, byRoute);
+            index(database, starts, routes, windowDays, byRoute);
+        }
+
+        long start = System.nanoTime();
+        long scanned = scan(all, starts, routes, windowDays, byRoute);
+        double scanMicros = (System.nanoTime() - start) / 1e3 / queries;
+
+        start = System.nanoTime();
+        long indexed = index(database, starts, routes, windowDays, byRoute);
+        double indexMicros = (System.nanoTime() - start) / 1e3 / queries;
+
+        if (scanned != indexed) {
+            throw new IllegalStateException("Index returned " + indexed + " flights but the scan found " + scanned);
+        }
+        System.out.printf("%-10d %-22s %14.1f %14.1f %9.0fx%n", size, label, scanMicros, indexMicros, scanMicros / indexMicros);
+    }
+
+    private static long scan(List<Flight> all, LocalDate[] starts, String[][] routes, int windowDays, boolean byRoute) {
+        long matches = 0;
+        for (int q = 0; q < starts.length; q++) {
+            LocalDate startDate = starts[q];
+            LocalDate endDate = startDate.plusDays(windowDays - 1);
+            for (Flight flight : all) {
+                if (byRoute && !(flight.getDeparture().equalsIgnoreCase(routes[q][0])
+                                 && flight.getArrival().equalsIgnoreCase(routes[q][1]))) {
+                    continue;
+                }
+                if (!flight.getDepartureDate().isBefore(startDate) && !flight.getDepartureDate().isAfter(endDate)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static long index(FlightDatabase database, LocalDate[] starts, String[][] routes, int windowDays, boolean byRoute) {
+        long matches = 0;
+        for (int q = 0; q < starts.length; q++) {
+            LocalDate startDate = starts[q];
+            LocalDate endDate = startDate.plusDays(windowDays - 1);
+            matches += byRoute
+                ? database.searchFlights(routes[q][0], routes[q][1], startDate, endDate).size()
+                : database.getFlightsByDateRange(startDate, endDate).size();
+        }
+        return matches;
+    }
+
+    private static Flight randomFlight(Random random, int i) {
+        String[] route = randomRoute(random);
+        return new Flight("BM" + i, route[0], route[1], AIRLINES[random.nextInt(AIRLINES.length)],
+                          FIRST_DAY.plusDays(random.nextInt(DAYS)), LocalTime.of(random.nextInt(24), random.nextInt(12) * 5),
+                          1 + random.nextInt(80) / 10.0, 50 + random.nextInt(45_000) / 100.0);
+    }
+
+    private static String[] randomRoute(Random random) {
+        int from = random.nextInt(AIRPORTS.length);
+        int to = (from + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+        return new String[]{AIRPORTS[from], AIRPORTS[to]};
+    }
+
+    private static int[] parseSizes(String[] args) {
+        int[] sizes = new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        return sizes;
+    }
+}